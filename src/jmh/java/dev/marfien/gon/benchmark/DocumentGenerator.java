@@ -0,0 +1,112 @@
+package dev.marfien.gon.benchmark;
+
+import java.util.Random;
+
+// Generates synthetic documents of different shapes. The same shape and size always produces the same document.
+public final class DocumentGenerator {
+
+    private static final String[] CLASSES = { "Server", "Client", "Route", "Node" };
+
+    private final Random random = new Random(42);
+    private final StringBuilder builder = new StringBuilder();
+
+    private DocumentGenerator() {}
+
+    public static String generate(String shape) {
+        return switch (shape) {
+            case "small" -> small();
+            case "wide" -> wide(10_000);
+            case "deep" -> deep(500);
+            case "numeric" -> numeric(10_000);
+            default -> throw new IllegalArgumentException("Unknown document shape: " + shape);
+        };
+    }
+
+    // A configuration file sized document
+    public static String small() {
+        DocumentGenerator generator = new DocumentGenerator();
+        generator.builder.append("config [Config] -enabled version=3 {\n");
+        for (int i = 0; i < 10; i++) {
+            generator.child(i, 1);
+        }
+
+        return generator.builder.append("}\n").toString();
+    }
+
+    // A root body with many siblings
+    public static String wide(int children) {
+        DocumentGenerator generator = new DocumentGenerator();
+        generator.builder.append("root [Root] {\n");
+        for (int i = 0; i < children; i++) {
+            generator.child(i, 1);
+        }
+
+        return generator.builder.append("}\n").toString();
+    }
+
+    // A chain of nested bodies
+    public static String deep(int depth) {
+        DocumentGenerator generator = new DocumentGenerator();
+        StringBuilder builder = generator.builder;
+        for (int i = 0; i < depth; i++) {
+            generator.indent(i);
+            builder.append("level").append(i).append(" [Level] index=").append(i).append(" {\n");
+        }
+
+        generator.child(depth, depth);
+
+        for (int i = depth - 1; i >= 0; i--) {
+            generator.indent(i);
+            builder.append("}\n");
+        }
+
+        return builder.toString();
+    }
+
+    // Mostly integer and float attributes and values
+    public static String numeric(int children) {
+        DocumentGenerator generator = new DocumentGenerator();
+        StringBuilder builder = generator.builder;
+        Random random = generator.random;
+
+        builder.append("samples {\n");
+        for (int i = 0; i < children; i++) {
+            builder.append("  [Sample] id=").append(i)
+                    .append(" value=").append(random.nextLong())
+                    .append(" mean=").append(random.nextDouble() * 1000)
+                    .append(" mask=0x").append(Integer.toHexString(random.nextInt()))
+                    .append(";\n");
+
+            builder.append("  v").append(i).append(": ").append(random.nextGaussian()).append(";\n");
+        }
+
+        return builder.append("}\n").toString();
+    }
+
+    private void child(int i, int level) {
+        StringBuilder builder = this.builder;
+        Random random = this.random;
+
+        this.indent(level);
+        builder.append("child").append(i)
+                .append(" [").append(CLASSES[i % CLASSES.length]).append("]")
+                .append(" port=").append(1024 + random.nextInt(60_000))
+                .append(" host=\"host-").append(random.nextInt(100)).append(".example.org\"");
+        if (random.nextBoolean()) builder.append(" -active");
+        builder.append(" {\n");
+
+        this.indent(level + 1);
+        builder.append("description: \"Generated child number ").append(i).append("\";\n");
+        this.indent(level + 1);
+        builder.append("weight: ").append(random.nextDouble()).append(";\n");
+        this.indent(level + 1);
+        builder.append("[Tag] name=\"tag").append(random.nextInt(10)).append("\";\n");
+
+        this.indent(level);
+        builder.append("}\n");
+    }
+
+    private void indent(int level) {
+        this.builder.append("  ".repeat(level));
+    }
+}
@@ -0,0 +1,62 @@
+package dev.marfien.gon.benchmark;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.value.GonBoolean;
+import dev.marfien.gon.value.GonValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({ "100", "10000" })
+    private int children;
+
+    private NestedGonObject root;
+    private String lastKey;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.root = (NestedGonObject) new GonParser().parse(DocumentGenerator.wide(this.children));
+        this.lastKey = "child" + (this.children - 1);
+    }
+
+    @Benchmark
+    public Optional<GonObject> byKey() {
+        return this.root.filter().byKey(this.lastKey);
+    }
+
+    @Benchmark
+    public Collection<GonObject> withClass() {
+        return this.root.filter().withClass("Server").all();
+    }
+
+    @Benchmark
+    public Collection<GonObject> withAttribute() {
+        return this.root.filter().withAttribute("active", GonValue.TRUE).all();
+    }
+
+    @Benchmark
+    public Optional<GonObject> firstMatching() {
+        return this.root.filter()
+                .withClass("Node")
+                .withAttributeMatching("active", value -> value instanceof GonBoolean b && b.getAsBoolean())
+                .first();
+    }
+
+    @Benchmark
+    public Collection<GonObject> matchKey() {
+        return this.root.filter().matchKey("child1\\d*").all();
+    }
+}
@@ -0,0 +1,63 @@
+package dev.marfien.gon.benchmark;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.object.GonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "small", "wide" })
+    private String shape;
+
+    private final GonParser parser = new GonParser();
+    private final GonParser mappingParser = new GonParser().withMemoryMapping(true);
+
+    private String document;
+    private byte[] bytes;
+    private Path path;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.document = DocumentGenerator.generate(this.shape);
+        this.bytes = this.document.getBytes(StandardCharsets.UTF_8);
+        this.path = Files.createTempFile("gon-benchmark", ".gon");
+        Files.write(this.path, this.bytes);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+
+    @Benchmark
+    public GonObject string() throws IOException {
+        return this.parser.parse(this.document);
+    }
+
+    @Benchmark
+    public GonObject bytes() throws IOException {
+        return this.parser.parse(this.bytes);
+    }
+
+    @Benchmark
+    public GonObject path() throws IOException {
+        return this.parser.parse(this.path);
+    }
+
+    @Benchmark
+    public GonObject mappedPath() throws IOException {
+        return this.mappingParser.parse(this.path);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.marfien.gon.benchmark;
+
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.GonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReaderBenchmark {
+
+    @Param({ "small", "wide", "deep", "numeric" })
+    private String shape;
+
+    private String document;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        this.document = DocumentGenerator.generate(this.shape);
+        this.bytes = this.document.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public GonObject chars() throws IOException {
+        try (GonReader reader = new GonReader(GonLexer.of(this.document))) {
+            return reader.nextObject();
+        }
+    }
+
+    @Benchmark
+    public GonObject utf8() throws IOException {
+        try (GonReader reader = new GonReader(GonLexer.of(ByteBuffer.wrap(this.bytes)))) {
+            return reader.nextObject();
+        }
+    }
+
+    @Benchmark
+    public GonObject stream() throws IOException {
+        try (GonReader reader = new GonReader(new StringReader(this.document))) {
+            return reader.nextObject();
+        }
+    }
+}
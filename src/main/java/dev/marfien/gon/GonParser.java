@@ -1,60 +1,217 @@
 package dev.marfien.gon;
 
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonMetrics;
+import dev.marfien.gon.io.GonPushParser;
 import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.io.GonSymbolTable;
 import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.schema.GonSchema;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 public class GonParser {
 
+    private boolean memoryMapping;
+    private boolean interning;
+    private int maxInternedStringLength;
+    private boolean lazyBodies;
+    private ForkJoinPool pool;
+    private GonMetrics.Listener metricsListener;
+    private GonSchema schema;
+
+    // Whether files are memory mapped and lexed directly from the mapped bytes instead of being streamed. Only for files
+    // that do not change while they are read: a mapping sees the size of the file when it was mapped, truncating the
+    // file may crash the JVM and on Windows the file stays locked until the mapping is garbage collected.
+    public GonParser withMemoryMapping(boolean memoryMapping) {
+        this.memoryMapping = memoryMapping;
+        return this;
+    }
+
+    // Whether each reader deduplicates names, classes and attribute keys through its own GonSymbolTable.
+    public GonParser withInterning(boolean interning) {
+        this.interning = interning;
+        return this;
+    }
+
+    // Deduplicates string values with up to maxLength chars as well. Enables interning if maxLength is positive.
+    public GonParser withStringInterning(int maxLength) {
+        this.maxInternedStringLength = maxLength;
+        if (maxLength > 0) this.interning = true;
+        return this;
+    }
+
+    // Whether bodies are parsed on first access. Applies to Strings, char and byte arrays, ByteBuffers and mapped files.
+    public GonParser withLazyBodies(boolean lazyBodies) {
+        this.lazyBodies = lazyBodies;
+        return this;
+    }
+
+    // Parses the objects in the body of the root object concurrently on the pool. Pass null to parse sequentially.
+    // Applies to the same inputs as lazy bodies, which take precedence.
+    public GonParser withParallelism(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    // Every reader reports its metrics to the listener when it is closed. Pass null to disable metrics.
+    // Push parsers report once per top level object, reloaders once per object of the root body they parse again.
+    public GonParser withMetrics(GonMetrics.Listener listener) {
+        this.metricsListener = listener;
+        return this;
+    }
+
+    // Every reader validates its objects against the schema while parsing them. Pass null to disable validation.
+    public GonParser withSchema(GonSchema schema) {
+        this.schema = schema;
+        return this;
+    }
+
+    // For the reloader, which validates the objects it parses separately as a whole
+    GonSchema schema() {
+        return this.schema;
+    }
+
     public GonReader newReader(String s) {
-        return this.newReader(new StringReader(s));
+        return this.newReader(GonLexer.of(s));
     }
 
     public GonReader newReader(Path path) throws IOException {
-        return this.newReader(Files.newInputStream(path));
+        if (!this.memoryMapping) return this.newReader(Files.newInputStream(path));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // A single mapping cannot exceed 2 GiB
+            if (size > Integer.MAX_VALUE) return this.newReader(Files.newInputStream(path));
+
+            // The mapping stays valid after the channel is closed.
+            return this.newReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
     }
 
     public GonReader newReader(File file) throws IOException {
-        return this.newReader(new FileReader(file));
+        return this.newReader(file.toPath());
     }
 
     public GonReader newReader(InputStream reader) {
-        return this.newReader(new InputStreamReader(reader));
+        return this.newReader(new InputStreamReader(reader, StandardCharsets.UTF_8));
     }
 
     public GonReader newReader(Reader reader) {
-        return new GonReader(reader);
+        return this.newReader(GonLexer.of(reader));
     }
 
     public GonReader newReader(byte[] bytes) {
-        return this.newReader(new ByteArrayInputStream(bytes));
+        return this.newReader(ByteBuffer.wrap(bytes));
     }
 
+    // Reads the UTF-8 encoded bytes between the position and the limit of the buffer.
+    public GonReader newReader(ByteBuffer buffer) {
+        return this.newReader(GonLexer.of(buffer));
+    }
+
+    public GonReader newReader(GonLexer lexer) {
+        GonReader reader = new GonReader(lexer);
+        if (this.interning) reader.withSymbolTable(new GonSymbolTable(), this.maxInternedStringLength);
+        if (this.lazyBodies) reader.withLazyBodies(true);
+        if (this.pool != null) reader.withParallelism(this.pool);
+        if (this.metricsListener != null) reader.withMetrics(this.metricsListener);
+        if (this.schema != null) reader.withSchema(this.schema);
+
+        return reader;
+    }
+
+    // For input that arrives in chunks. Lazy bodies and parallelism do not apply.
+    public GonPushParser newPushParser() {
+        GonPushParser parser = new GonPushParser();
+        if (this.interning) parser.withSymbolTable(new GonSymbolTable(), this.maxInternedStringLength);
+        if (this.metricsListener != null) parser.withMetrics(this.metricsListener);
+        if (this.schema != null) parser.withSchema(this.schema);
+
+        return parser;
+    }
+
+    // The parse methods read the first object and close the input.
+
     public GonObject parse(String s) throws IOException {
-        return this.newReader(s).nextObject();
+        try (GonReader reader = this.newReader(s)) {
+            return reader.nextObject();
+        }
     }
 
     public GonObject parse(Path path) throws IOException {
-        return this.newReader(path).nextObject();
+        try (GonReader reader = this.newReader(path)) {
+            return reader.nextObject();
+        }
     }
 
     public GonObject parse(File file) throws IOException {
-        return this.newReader(file).nextObject();
+        try (GonReader reader = this.newReader(file)) {
+            return reader.nextObject();
+        }
     }
 
     public GonObject parse(InputStream s) throws IOException {
-        return this.newReader(s).nextObject();
+        try (GonReader reader = this.newReader(s)) {
+            return reader.nextObject();
+        }
     }
 
-    public GonObject parse(Reader reader) throws IOException {
-        return this.newReader(reader).nextObject();
+    public GonObject parse(Reader in) throws IOException {
+        try (GonReader reader = this.newReader(in)) {
+            return reader.nextObject();
+        }
     }
 
     public GonObject parse(byte[] bytes) throws IOException {
-        return this.newReader(bytes).nextObject();
+        try (GonReader reader = this.newReader(bytes)) {
+            return reader.nextObject();
+        }
+    }
+
+    public GonObject parse(ByteBuffer buffer) throws IOException {
+        try (GonReader reader = this.newReader(buffer)) {
+            return reader.nextObject();
+        }
+    }
+
+    // Reads the file without blocking a thread. The file is closed on completion.
+    public CompletableFuture<GonObject> parseAsync(Path path) throws IOException {
+        AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+
+        return this.newPushParser().parseAsync(channel).whenComplete((object, e) -> {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    // Lazily reads consecutive top level objects, e.g. records appended to a log file. Closing the stream closes the file.
+    public Stream<GonObject> stream(Path path) throws IOException {
+        return this.stream(path, false);
+    }
+
+    // In parallel the file is split at the boundaries of the top level objects, which are then parsed concurrently.
+    // Requires memory mapping, otherwise the stream is sequential.
+    public Stream<GonObject> stream(Path path, boolean parallel) throws IOException {
+        return this.newReader(path).stream(parallel);
+    }
+
+    // Closing the stream closes the input stream.
+    public Stream<GonObject> stream(InputStream in) {
+        return this.newReader(in).stream();
     }
 
 }
@@ -0,0 +1,234 @@
+package dev.marfien.gon;
+
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.io.GonEvent;
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.schema.GonSchema;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Keeps the parsed content of a file up to date. On a reload only the objects in the body of the root object whose
+// source changed are parsed again. All others are shared with the previous snapshot.
+public class GonReloader implements Closeable {
+
+    private static final long[] NO_SPANS = new long[0];
+
+    private final Path path;
+    private final GonParser parser;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Replaced as a whole on every reload, so readers never see a partial update
+    private volatile Snapshot snapshot;
+
+    private WatchService watchService;
+
+    public GonReloader(Path path) throws IOException {
+        this(path, new GonParser());
+    }
+
+    public GonReloader(Path path, GonParser parser) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.parser = Objects.requireNonNull(parser);
+        this.snapshot = this.parse(Files.readAllBytes(this.path), null);
+    }
+
+    // The latest successfully parsed root object.
+    public GonObject get() {
+        return this.snapshot.root;
+    }
+
+    public GonReloader addListener(Listener listener) {
+        this.listeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    // Reloads on every change of the file in a daemon thread until closed.
+    public synchronized GonReloader watch() throws IOException {
+        if (this.watchService != null) return this;
+
+        Path directory = this.path.getParent();
+        WatchService watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchService = watchService;
+
+        Thread thread = new Thread(() -> this.watchLoop(watchService), "gon-reloader-" + this.path.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+
+        return this;
+    }
+
+    // Returns whether the content changed. A file that cannot be parsed keeps the previous snapshot.
+    public synchronized boolean reload() throws IOException {
+        Snapshot previous = this.snapshot;
+        byte[] bytes = Files.readAllBytes(this.path);
+        if (Arrays.equals(bytes, previous.bytes)) return false;
+
+        Snapshot next = this.parse(bytes, previous);
+        this.snapshot = next;
+
+        for (Listener listener : this.listeners) {
+            listener.reloaded(previous.root, next.root);
+        }
+
+        return true;
+    }
+
+    private void watchLoop(WatchService watchService) {
+        Path fileName = this.path.getFileName();
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= fileName.equals(event.context());
+                }
+
+                key.reset();
+                if (!changed) continue;
+
+                try {
+                    this.reload();
+                } catch (IOException | RuntimeException e) {
+                    for (Listener listener : this.listeners) {
+                        listener.failed(e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private Snapshot parse(byte[] bytes, Snapshot previous) throws IOException {
+        GonLexer lexer = GonLexer.of(ByteBuffer.wrap(bytes));
+
+        // Only reads the header, the metrics of the body are reported by the readers of its objects
+        try (GonReader reader = this.parser.newReader(lexer).withMetrics(null).withSchema(null)) {
+            return this.parse(bytes, previous, lexer, reader);
+        }
+    }
+
+    private Snapshot parse(byte[] bytes, Snapshot previous, GonLexer lexer, GonReader reader) throws IOException {
+        if (reader.nextEvent() != GonEvent.START_OBJECT) throw new GonParseException("Expected an object");
+
+        // Read the header of the root object
+        String name = null;
+        String clazz = null;
+        Map<String, GonValue> attributes = new LinkedHashMap<>();
+        GonEvent event;
+        for (event = reader.nextEvent(); event != GonEvent.START_BODY && event != GonEvent.END_OBJECT; event = reader.nextEvent()) {
+            switch (event) {
+                case NAME -> name = reader.getText();
+                case CLASS -> clazz = reader.getText();
+                case ATTRIBUTE, FLAG -> attributes.put(reader.getText(), reader.getValue());
+                // Objects without a body are small enough to be parsed as a whole
+                default -> {
+                    return new Snapshot(bytes, this.parser.parse(bytes), NO_SPANS, NO_SPANS);
+                }
+            }
+        }
+
+        if (event == GonEvent.END_OBJECT) return new Snapshot(bytes, this.parser.parse(bytes), NO_SPANS, NO_SPANS);
+
+        // Find the spans of the objects in the body without parsing them
+        long[] starts = new long[16];
+        long[] ends = new long[16];
+        int count = 0;
+        while (lexer.skipWhitespace() != '}') {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+
+            starts[count] = lexer.position();
+            if (!lexer.skipObject()) throw new GonParseException("Unexpected end of file in body");
+            ends[count++] = lexer.position();
+        }
+
+        starts = Arrays.copyOf(starts, count);
+        ends = Arrays.copyOf(ends, count);
+
+        // Bytes before prefix and from suffix on are the same as in the previous content
+        long prefix = 0;
+        long suffix = bytes.length;
+        if (previous != null && previous.starts.length > 0) {
+            prefix = Arrays.mismatch(previous.bytes, bytes);
+
+            int max = Math.min(previous.bytes.length, bytes.length) - (int) prefix;
+            int length = 0;
+            while (length < max && previous.bytes[previous.bytes.length - 1 - length] == bytes[bytes.length - 1 - length]) length++;
+            suffix = bytes.length - length;
+        }
+
+        GonObject[] children = new GonObject[count];
+        for (int i = 0; i < count; i++) {
+            GonObject child = null;
+            if (ends[i] <= prefix) {
+                child = previous.find(starts[i], ends[i]);
+            } else if (starts[i] >= suffix) {
+                long shift = (long) previous.bytes.length - bytes.length;
+                child = previous.find(starts[i] + shift, ends[i] + shift);
+            }
+
+            if (child == null) {
+                // Nested objects are validated in the context of the root below
+                try (GonReader childReader = this.parser.newReader(lexer.slice(starts[i], ends[i])).withSchema(null)) {
+                    child = childReader.nextObject();
+                }
+            }
+
+            children[i] = child;
+        }
+
+        NestedGonObject root = new NestedGonObject(name, clazz, attributes, Arrays.asList(children));
+        GonSchema schema = this.parser.schema();
+        if (schema != null) schema.validate(root);
+
+        return new Snapshot(bytes, root, starts, ends);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.watchService != null) this.watchService.close();
+        this.watchService = null;
+    }
+
+    public interface Listener {
+
+        void reloaded(GonObject previous, GonObject current);
+
+        // Called by the watcher if a changed file cannot be read or parsed.
+        default void failed(Exception e) {
+        }
+
+    }
+
+    // Spans are the byte ranges of the objects in the body of the root object
+    private record Snapshot(byte[] bytes, GonObject root, long[] starts, long[] ends) {
+
+        // The object previously parsed from exactly this span, if any
+        private GonObject find(long start, long end) {
+            int i = Arrays.binarySearch(this.starts, start);
+            if (i < 0 || this.ends[i] != end) return null;
+
+            return ((NestedGonObject) this.root).getNestedObjects().get(i);
+        }
+    }
+}
@@ -17,6 +17,31 @@ public enum GonToken {
     END_OF_FILE((char) -1),
     UNKNOWN((char) Integer.MIN_VALUE);
 
+    // Character classes
+    public static final int WHITESPACE = 1;
+    public static final int NAME = 1 << 1;
+    public static final int VALUE = 1 << 2;
+    public static final int TOKEN = 1 << 3;
+
+    private static final int ASCII = 128;
+
+    private static final GonToken[] TOKENS = new GonToken[ASCII];
+    private static final byte[] CLASSES = new byte[ASCII];
+
+    static {
+        for (GonToken value : values()) {
+            if (value.token < ASCII) {
+                TOKENS[value.token] = value;
+                CLASSES[value.token] |= TOKEN;
+            }
+        }
+
+        for (char c = 0; c < ASCII; c++) {
+            if (TOKENS[c] == null) TOKENS[c] = UNKNOWN;
+            CLASSES[c] |= (byte) classifyUnicode(c);
+        }
+    }
+
     private final char token;
 
     GonToken(char token) {
@@ -28,13 +53,37 @@ public enum GonToken {
     }
 
     public static GonToken byToken(char c) {
-        for (GonToken value : values()) {
-            if (value.token == c) {
-                return value;
-            }
-        }
+        if (c < ASCII) return TOKENS[c];
+        return c == END_OF_FILE.token ? END_OF_FILE : UNKNOWN;
+    }
+
+    // Returns the character classes of c. Negative values (EOF) have none.
+    public static int classify(int c) {
+        if ((c & ~(ASCII - 1)) == 0) return CLASSES[c];
+        return c < 0 ? 0 : classifyUnicode(c);
+    }
+
+    public static boolean isWhitespace(int c) {
+        if ((c & ~(ASCII - 1)) == 0) return (CLASSES[c] & WHITESPACE) != 0;
+        return c > 0 && Character.isWhitespace(c);
+    }
+
+    public static boolean isNameChar(int c) {
+        if ((c & ~(ASCII - 1)) == 0) return (CLASSES[c] & NAME) != 0;
+        return c > 0 && Character.isLetterOrDigit(c);
+    }
+
+    public static boolean isValueChar(int c) {
+        if ((c & ~(ASCII - 1)) == 0) return (CLASSES[c] & VALUE) != 0;
+        return c > 0 && Character.isLetterOrDigit(c);
+    }
 
-        return UNKNOWN;
+    private static int classifyUnicode(int c) {
+        if (Character.isWhitespace(c)) return WHITESPACE;
+        if (Character.isLetterOrDigit(c)) return NAME | VALUE;
+        // Values may contain periods and negative signs
+        if (c == '.' || c == '-') return VALUE;
+        return 0;
     }
 
     @Override
@@ -0,0 +1,12 @@
+package dev.marfien.gon.exception;
+
+public class GonMappingException extends RuntimeException {
+
+    public GonMappingException(String message) {
+        super(message);
+    }
+
+    public GonMappingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
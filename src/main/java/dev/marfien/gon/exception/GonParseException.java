@@ -4,6 +4,19 @@ import java.io.IOException;
 
 public class GonParseException extends IOException {
 
+    // Input quoted in messages is cut off after this many chars
+    public static final int MAX_PREVIEW_LENGTH = 32;
+
+    // Preview of the offending input, quoted after the message
+    private String input;
+
+    private long offset = -1;
+    private int line = -1;
+    private int column = -1;
+
+    // Formatted on first access
+    private String message;
+
     public GonParseException() {
     }
 
@@ -18,4 +31,89 @@ public class GonParseException extends IOException {
     public GonParseException(Throwable cause) {
         super(cause);
     }
+
+    // Pass a preview of long input, it is kept until the message is formatted
+    public GonParseException(String message, String input) {
+        super(message);
+        this.input = input;
+    }
+
+    public GonParseException(String message, String input, Throwable cause) {
+        super(message, cause);
+        this.input = input;
+    }
+
+    // Called by the reader that detected the error. Keeps the first position set.
+    public GonParseException at(long offset, int line, int column) {
+        if (this.offset < 0) {
+            this.offset = offset;
+            this.line = line;
+            this.column = column;
+            this.message = null;
+        }
+
+        return this;
+    }
+
+    // Moves a position located within a part of the input to the position in the whole input. The part starts after
+    // offset chars, lines line breaks and column chars of its first line.
+    public GonParseException shift(long offset, int lines, int column) {
+        if (this.offset < 0) return this;
+
+        if (this.line == 1) this.column += column;
+        if (this.line >= 0) this.line += lines;
+        this.offset += offset;
+        this.message = null;
+
+        return this;
+    }
+
+    // Null if the message quotes no input
+    public String getInput() {
+        return this.input;
+    }
+
+    // Position in the unit of the lexer, -1 if unknown
+    public long getOffset() {
+        return this.offset;
+    }
+
+    // Starts at 1, -1 if unknown
+    public int getLine() {
+        return this.line;
+    }
+
+    // Starts at 1, -1 if unknown
+    public int getColumn() {
+        return this.column;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = this.message;
+        if (message != null) return message;
+
+        message = this.formatMessage();
+        if (this.line >= 0) message = "%s at line %d, column %d".formatted(message, this.line, this.column);
+        else if (this.offset >= 0) message = "%s at offset %d".formatted(message, this.offset);
+
+        return this.message = message;
+    }
+
+    // Message without the position. Subclasses that keep structured data format it here.
+    protected String formatMessage() {
+        if (this.input == null) return super.getMessage();
+        return super.getMessage() + ": " + this.input;
+    }
+
+    // The start of the input, cut off after MAX_PREVIEW_LENGTH chars
+    public static String preview(CharSequence input) {
+        if (input.length() <= MAX_PREVIEW_LENGTH) return input.toString();
+        return input.subSequence(0, MAX_PREVIEW_LENGTH) + "...";
+    }
+
+    public static String preview(char[] chars, int offset, int length) {
+        if (length <= MAX_PREVIEW_LENGTH) return new String(chars, offset, length);
+        return new String(chars, offset, MAX_PREVIEW_LENGTH) + "...";
+    }
 }
@@ -0,0 +1,9 @@
+package dev.marfien.gon.exception;
+
+// A document violates the schema it is read with
+public class GonSchemaException extends GonParseException {
+
+    public GonSchemaException(String message) {
+        super(message);
+    }
+}
@@ -2,11 +2,37 @@ package dev.marfien.gon.exception;
 
 public class GonUnexpectedTokenException extends GonParseException {
 
+    private static final char EOF = (char) -1;
+
+    private final String expected;
+    private final char expectedToken;
+    private final char tokenGot;
+
     public GonUnexpectedTokenException(char expectedToken, char tokenGot) {
-        this("'%s'".formatted(expectedToken), tokenGot);
+        this.expected = null;
+        this.expectedToken = expectedToken;
+        this.tokenGot = tokenGot;
     }
 
     public GonUnexpectedTokenException(String expectedToken, char tokenGot) {
-        super("Received unexpected token. Expected: %s, but was '%s'".formatted(expectedToken, tokenGot));
+        this.expected = expectedToken;
+        this.expectedToken = EOF;
+        this.tokenGot = tokenGot;
+    }
+
+    // Description of the expected tokens
+    public String getExpected() {
+        return this.expected != null ? this.expected : "'%s'".formatted(this.expectedToken);
+    }
+
+    // (char) -1 at the end of the input
+    public char getTokenGot() {
+        return this.tokenGot;
+    }
+
+    @Override
+    protected String formatMessage() {
+        String got = this.tokenGot == EOF ? "end of file" : "'%s'".formatted(this.tokenGot);
+        return "Received unexpected token. Expected: %s, but was %s".formatted(this.getExpected(), got);
     }
 }
@@ -2,7 +2,12 @@ package dev.marfien.gon.exception;
 
 public class GonUnknownValueException extends GonParseException {
 
+    // Pass a preview of long values, the input is not copied
     public GonUnknownValueException(String actual) {
-        super("Unknown value received: " + actual);
+        super("Unknown value received", actual);
+    }
+
+    public String getActual() {
+        return this.getInput();
     }
 }
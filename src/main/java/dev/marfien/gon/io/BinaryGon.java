@@ -0,0 +1,39 @@
+package dev.marfien.gon.io;
+
+// Constants of the binary encoding shared by BinaryGonWriter and BinaryGonReader.
+//
+// A stream starts with MAGIC and VERSION, followed by any number of objects. An object is a tag with the node kind
+// in the lowest two bits and HAS_NAME and HAS_CLASS flags, the name and class if present, the number of attributes,
+// the key and value of each attribute and then the value or the number of nested objects followed by them.
+//
+// Counts are unsigned varints, integers zigzag encoded varints and floats the 8 raw bytes of the double.
+// Strings are references into a table that both sides build in the same order: 0 is followed by the length and
+// UTF-8 bytes of a new string, which is added to the table, k > 0 refers to the string at index k - 1.
+final class BinaryGon {
+
+    static final byte[] MAGIC = { 'G', 'O', 'N', 'B' };
+    static final int VERSION = 1;
+
+    // Node kinds
+    static final int EMPTY = 0;
+    static final int SINGLE = 1;
+    static final int NESTED = 2;
+    static final int KIND_MASK = 0x03;
+
+    static final int HAS_NAME = 0x04;
+    static final int HAS_CLASS = 0x08;
+
+    // Value types
+    static final int NULL = 0;
+    static final int FALSE = 1;
+    static final int TRUE = 2;
+    static final int INT = 3;
+    static final int FLOAT = 4;
+    static final int STRING = 5;
+
+    static final int NEW_STRING = 0;
+    // Strings beyond this are written inline every time
+    static final int MAX_STRING_TABLE_SIZE = 1 << 16;
+
+    private BinaryGon() {}
+}
@@ -0,0 +1,308 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.object.EmptyGonObject;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static dev.marfien.gon.io.BinaryGon.*;
+
+// Reads objects written by BinaryGonWriter.
+public class BinaryGonReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    // Arrays sized from counts in the input start at most this large and grow with the items actually read,
+    // so a corrupt count fails at the end of the input instead of allocating its size up front
+    private static final int MAX_INITIAL_CAPACITY = 64;
+    private static final int MAX_INITIAL_STRING_LENGTH = 1 << 16;
+    // Above this many attributes duplicates are found by hashing
+    private static final int MAX_LINEAR_KEY_CHECK = 8;
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final GonValue[] NO_VALUES = new GonValue[0];
+    private static final GonObject[] NO_OBJECTS = new GonObject[0];
+
+    // Only one of them is set
+    private final InputStream in;
+    private final ByteBuffer source;
+
+    private byte[] buf;
+    private int pos;
+    private int limit;
+
+    private String[] strings = new String[64];
+    private int stringCount;
+
+    private boolean headerRead;
+
+    public BinaryGonReader(InputStream in) {
+        this.in = Objects.requireNonNull(in);
+        this.source = null;
+        this.buf = new byte[BUFFER_SIZE];
+    }
+
+    // Reads the bytes between the position and the limit of the buffer.
+    public BinaryGonReader(ByteBuffer buffer) {
+        this.in = null;
+
+        if (buffer.hasArray()) {
+            this.source = null;
+            this.buf = buffer.array();
+            this.pos = buffer.arrayOffset() + buffer.position();
+            this.limit = buffer.arrayOffset() + buffer.limit();
+        } else {
+            this.source = buffer.slice();
+            this.buf = new byte[BUFFER_SIZE];
+        }
+    }
+
+    public BinaryGonReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public boolean hasNext() throws IOException {
+        this.readHeader();
+        return this.pos < this.limit || this.fill();
+    }
+
+    public GonObject nextObject() throws IOException {
+        this.readHeader();
+        return this.readObject();
+    }
+
+    private void readHeader() throws IOException {
+        if (this.headerRead) return;
+
+        for (byte b : MAGIC) {
+            if (this.readByte() != b) throw new GonParseException("Not a binary GON stream.");
+        }
+
+        int version = this.readByte();
+        if (version != VERSION) throw new GonParseException("Unsupported binary GON version: " + version);
+
+        this.headerRead = true;
+    }
+
+    private GonObject readObject() throws IOException {
+        int tag = this.readByte();
+        String name = (tag & HAS_NAME) != 0 ? this.readString() : null;
+        String clazz = (tag & HAS_CLASS) != 0 ? this.readString() : null;
+
+        int attributeCount = this.readCount();
+        String[] keys = attributeCount == 0 ? NO_KEYS : new String[Math.min(attributeCount, MAX_INITIAL_CAPACITY)];
+        GonValue[] values = attributeCount == 0 ? NO_VALUES : new GonValue[keys.length];
+        for (int i = 0; i < attributeCount; i++) {
+            if (i == keys.length) {
+                keys = Arrays.copyOf(keys, grow(i, attributeCount));
+                values = Arrays.copyOf(values, keys.length);
+            }
+
+            keys[i] = this.readString();
+            values[i] = this.readValue();
+        }
+
+        // The object constructors take the arrays as they are
+        checkUniqueKeys(keys, attributeCount);
+
+        return switch (tag & KIND_MASK) {
+            case EMPTY -> new EmptyGonObject(name, clazz, keys, values);
+            case SINGLE -> new SingleValueGonObject(name, clazz, keys, values, this.readValue());
+            case NESTED -> {
+                int count = this.readCount();
+                GonObject[] nestedObjects = count == 0 ? NO_OBJECTS : new GonObject[Math.min(count, MAX_INITIAL_CAPACITY)];
+                for (int i = 0; i < count; i++) {
+                    if (i == nestedObjects.length) nestedObjects = Arrays.copyOf(nestedObjects, grow(i, count));
+                    nestedObjects[i] = this.readObject();
+                }
+
+                yield new NestedGonObject(name, clazz, keys, values, nestedObjects);
+            }
+            default -> throw new GonParseException("Unknown node tag: " + tag);
+        };
+    }
+
+    private GonValue readValue() throws IOException {
+        int type = this.readByte();
+
+        return switch (type) {
+            case NULL -> GonValue.NULL;
+            case FALSE -> GonValue.FALSE;
+            case TRUE -> GonValue.TRUE;
+            case INT -> {
+                long l = this.readVarint();
+                yield GonInt.of((l >>> 1) ^ -(l & 1));
+            }
+            case FLOAT -> GonFloat.of(Double.longBitsToDouble(this.readLong()));
+            case STRING -> new GonString(this.readString());
+            default -> throw new GonParseException("Unknown value type: " + type);
+        };
+    }
+
+    private String readString() throws IOException {
+        int reference = this.readCount();
+        if (reference != NEW_STRING) {
+            if (reference > this.stringCount) throw new GonParseException("Unknown string reference: " + reference);
+            return this.strings[reference - 1];
+        }
+
+        int length = this.readCount();
+        String s;
+        if (this.ensure(length)) {
+            s = new String(this.buf, this.pos, length, StandardCharsets.UTF_8);
+            this.pos += length;
+        } else {
+            // Longer than the buffer or the rest of the input
+            if (length > this.available()) throw unexpectedEnd();
+
+            byte[] bytes = new byte[Math.min(length, MAX_INITIAL_STRING_LENGTH)];
+            int read = 0;
+
+            while (read < length) {
+                if (this.pos == this.limit && !this.fill()) throw unexpectedEnd();
+
+                int n = Math.min(length - read, this.limit - this.pos);
+                if (read + n > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(read + n, grow(bytes.length, length)));
+
+                System.arraycopy(this.buf, this.pos, bytes, read, n);
+                this.pos += n;
+                read += n;
+            }
+
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        if (this.stringCount < MAX_STRING_TABLE_SIZE) {
+            if (this.stringCount == this.strings.length) this.strings = Arrays.copyOf(this.strings, this.stringCount * 2);
+            this.strings[this.stringCount++] = s;
+        }
+
+        return s;
+    }
+
+    // Bytes left in the input, Long.MAX_VALUE if it is a stream
+    private long available() {
+        if (this.in != null) return Long.MAX_VALUE;
+        return this.limit - this.pos + (this.source == null ? 0 : this.source.remaining());
+    }
+
+    // Doubles the capacity up to the count
+    private static int grow(int capacity, int count) {
+        return (int) Math.min(count, capacity * 2L);
+    }
+
+    private static void checkUniqueKeys(String[] keys, int count) throws GonParseException {
+        if (count <= MAX_LINEAR_KEY_CHECK) {
+            for (int i = 1; i < count; i++) {
+                for (int j = 0; j < i; j++) {
+                    if (keys[i].equals(keys[j])) throw duplicateKey(keys[i]);
+                }
+            }
+
+            return;
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            if (!seen.add(keys[i])) throw duplicateKey(keys[i]);
+        }
+    }
+
+    private static GonParseException duplicateKey(String key) {
+        return new GonParseException("Duplicate attribute", GonParseException.preview(key));
+    }
+
+    private int readCount() throws IOException {
+        long count = this.readVarint();
+        if (count < 0 || count > Integer.MAX_VALUE) throw new GonParseException("Invalid count: " + count);
+        return (int) count;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = this.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+
+        throw new GonParseException("Varint is too long.");
+    }
+
+    private long readLong() throws IOException {
+        if (!this.ensure(8)) throw unexpectedEnd();
+
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (this.buf[this.pos++] & 0xFF);
+        }
+
+        return value;
+    }
+
+    private int readByte() throws IOException {
+        if (this.pos == this.limit && !this.fill()) throw unexpectedEnd();
+        return this.buf[this.pos++] & 0xFF;
+    }
+
+    // Whether the next length bytes are in the buffer. False if the buffer is too small or the input ends before.
+    private boolean ensure(int length) throws IOException {
+        while (this.limit - this.pos < length) {
+            if (length > this.buf.length || (this.in == null && this.source == null)) return false;
+
+            // Move the remaining bytes to the start to make room
+            int remaining = this.limit - this.pos;
+            System.arraycopy(this.buf, this.pos, this.buf, 0, remaining);
+            this.pos = 0;
+            this.limit = remaining;
+
+            if (!this.fill()) return false;
+        }
+
+        return true;
+    }
+
+    // Appends more bytes to the buffer. The buffer is reset if it has been consumed entirely.
+    private boolean fill() throws IOException {
+        if (this.pos == this.limit) {
+            this.pos = 0;
+            this.limit = 0;
+        }
+
+        int n;
+        if (this.in != null) {
+            n = this.in.read(this.buf, this.limit, this.buf.length - this.limit);
+        } else if (this.source != null && this.source.hasRemaining()) {
+            n = Math.min(this.source.remaining(), this.buf.length - this.limit);
+            this.source.get(this.buf, this.limit, n);
+        } else {
+            return false;
+        }
+
+        if (n <= 0) return false;
+
+        this.limit += n;
+        return true;
+    }
+
+    private static GonParseException unexpectedEnd() {
+        return new GonParseException("Unexpected end of binary GON stream.");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.in != null) this.in.close();
+    }
+}
@@ -0,0 +1,156 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.*;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static dev.marfien.gon.io.BinaryGon.*;
+
+// Writes objects in the binary encoding described in BinaryGon. Read them with BinaryGonReader.
+public class BinaryGonWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    public BinaryGonWriter(OutputStream out) {
+        this.out = Objects.requireNonNull(out);
+
+        System.arraycopy(MAGIC, 0, this.buf, 0, MAGIC.length);
+        this.pos = MAGIC.length;
+        this.buf[this.pos++] = VERSION;
+    }
+
+    public BinaryGonWriter writeObject(GonObject object) throws IOException {
+        String name = object.getName().orElse(null);
+        String clazz = object.getClazz().orElse(null);
+
+        int tag = object instanceof SingleValueGonObject ? SINGLE : object instanceof NestedGonObject ? NESTED : EMPTY;
+        if (name != null) tag |= HAS_NAME;
+        if (clazz != null) tag |= HAS_CLASS;
+
+        this.writeByte(tag);
+        if (name != null) this.writeString(name);
+        if (clazz != null) this.writeString(clazz);
+
+        Map<String, GonValue> attributes = object.getAttributes();
+        this.writeVarint(attributes.size());
+        for (Map.Entry<String, GonValue> attribute : attributes.entrySet()) {
+            this.writeString(attribute.getKey());
+            this.writeValue(attribute.getValue());
+        }
+
+        if (object instanceof SingleValueGonObject singleValue) {
+            this.writeValue(singleValue.getValue());
+        } else if (object instanceof NestedGonObject nested) {
+            List<GonObject> nestedObjects = nested.getNestedObjects();
+            this.writeVarint(nestedObjects.size());
+            for (GonObject nestedObject : nestedObjects) {
+                this.writeObject(nestedObject);
+            }
+        }
+
+        return this;
+    }
+
+    private void writeValue(GonValue value) throws IOException {
+        if (value instanceof GonInt integer) {
+            this.writeByte(INT);
+            long l = integer.getAsLong();
+            this.writeVarint((l << 1) ^ (l >> 63));
+        } else if (value instanceof GonFloat f) {
+            this.writeByte(FLOAT);
+            this.writeLong(Double.doubleToRawLongBits(f.getAsDouble()));
+        } else if (value instanceof GonString string) {
+            this.writeByte(STRING);
+            this.writeString(string.get());
+        } else if (value instanceof GonBoolean bool) {
+            this.writeByte(bool.getAsBoolean() ? TRUE : FALSE);
+        } else {
+            this.writeByte(NULL);
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        Integer index = this.strings.get(s);
+        if (index != null) {
+            this.writeVarint(index + 1);
+            return;
+        }
+
+        if (this.strings.size() < MAX_STRING_TABLE_SIZE) this.strings.put(s, this.strings.size());
+
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        this.writeVarint(NEW_STRING);
+        this.writeVarint(bytes.length);
+
+        if (bytes.length > this.buf.length - this.pos) {
+            this.flushBuffer();
+
+            if (bytes.length > this.buf.length) {
+                this.out.write(bytes);
+                return;
+            }
+        }
+
+        System.arraycopy(bytes, 0, this.buf, this.pos, bytes.length);
+        this.pos += bytes.length;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        if (this.pos + 10 > this.buf.length) this.flushBuffer();
+
+        while ((value & ~0x7FL) != 0) {
+            this.buf[this.pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buf[this.pos++] = (byte) value;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (this.pos + 8 > this.buf.length) this.flushBuffer();
+
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.buf[this.pos++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (this.pos == this.buf.length) this.flushBuffer();
+        this.buf[this.pos++] = (byte) b;
+    }
+
+    private void flushBuffer() throws IOException {
+        this.out.write(this.buf, 0, this.pos);
+        this.pos = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.flushBuffer();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.out.close();
+    }
+}
@@ -0,0 +1,351 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.GonToken;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+// Lexes over a char[] window. Either the whole input is the window or it is refilled from a Reader.
+final class CharArrayLexer extends GonLexer {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private Reader in;
+
+    private final char[] buf;
+    private int pos;
+    private int limit;
+
+    // Absolute position of buf[0]
+    private long base;
+
+    // Lines before buf[0] and the absolute position the last of them ends at, only counted for input from a Reader
+    private int lines;
+    private long lineStart;
+
+    CharArrayLexer(Reader in, int bufferSize) {
+        this.in = in;
+        this.buf = new char[bufferSize];
+    }
+
+    CharArrayLexer(char[] chars, int from, int to) {
+        this(chars, from, to, -from);
+    }
+
+    private CharArrayLexer(char[] chars, int from, int to, long base) {
+        this.buf = chars;
+        this.pos = from;
+        this.limit = to;
+        this.base = base;
+    }
+
+    @Override
+    public int peek() throws IOException {
+        if (this.pos < this.limit || this.fill()) return this.buf[this.pos];
+        return EOF;
+    }
+
+    @Override
+    public void skip() throws IOException {
+        if (this.pos < this.limit || this.fill()) this.pos++;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.pos < this.limit || this.fill()) return this.buf[this.pos++];
+        return EOF;
+    }
+
+    @Override
+    public long position() {
+        return this.base + this.pos;
+    }
+
+    @Override
+    int[] lineAndColumn() {
+        char[] buf = this.buf;
+        int line = this.lines + 1;
+        long lineStart = this.lineStart;
+
+        // The input of a char array starts at its offset, which is the negative base
+        for (int i = (int) Math.max(0, -this.base); i < this.pos; i++) {
+            if (buf[i] == '\n') {
+                line++;
+                lineStart = this.base + i + 1;
+            }
+        }
+
+        return new int[] { line, (int) (this.position() - lineStart) + 1 };
+    }
+
+    @Override
+    public int skipWhitespace() throws IOException {
+        while (true) {
+            char[] buf = this.buf;
+            int pos = this.pos;
+            int limit = this.limit;
+
+            while (pos < limit && GonToken.isWhitespace(buf[pos])) pos++;
+            this.pos = pos;
+
+            if (pos == limit) {
+                if (!this.fill()) return EOF;
+                continue;
+            }
+
+            char c = buf[pos];
+            if (c != GonToken.COMMENT_LINE.getToken()) return c;
+
+            this.skipComment();
+        }
+    }
+
+    @Override
+    protected void skipComment() throws IOException {
+        while (true) {
+            char[] buf = this.buf;
+            int pos = this.pos;
+            int limit = this.limit;
+
+            while (pos < limit && buf[pos] != '\n') pos++;
+
+            if (pos < limit) {
+                this.pos = pos + 1;
+                return;
+            }
+
+            this.pos = pos;
+            if (!this.fill()) return;
+        }
+    }
+
+    @Override
+    protected void skipStructure(int depth, boolean untilBreakPoint) throws IOException {
+        char[] buf = this.buf;
+
+        while (true) {
+            int pos = this.pos;
+            int limit = this.limit;
+
+            while (pos < limit) {
+                char c = buf[pos++];
+
+                switch (c) {
+                    case '"' -> {
+                        this.pos = pos;
+                        this.skipString();
+                        pos = this.pos;
+                        limit = this.limit;
+                    }
+                    case '#' -> {
+                        this.pos = pos;
+                        this.skipComment();
+                        pos = this.pos;
+                        limit = this.limit;
+                    }
+                    case '{' -> depth++;
+                    case '}' -> {
+                        if (depth == 0) {
+                            this.pos = pos - 1;
+                            throw unexpectedBodyCloser();
+                        }
+
+                        if (--depth == 0) {
+                            this.pos = pos;
+                            return;
+                        }
+                    }
+                    case ';' -> {
+                        if (depth == 0 && untilBreakPoint) {
+                            this.pos = pos;
+                            return;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            this.pos = pos;
+            if (!this.fill()) throw unexpectedEndOfStructure(untilBreakPoint);
+        }
+    }
+
+    @Override
+    protected void skipString() throws IOException {
+        char[] buf = this.buf;
+        char quotes = GonToken.STRING_QUOTES.getToken();
+
+        while (true) {
+            int pos = this.pos;
+            int limit = this.limit;
+
+            while (pos < limit) {
+                char c = buf[pos++];
+
+                if (c == quotes) {
+                    this.pos = pos;
+                    return;
+                }
+
+                // The escaped char might be in the next window
+                if (c == '\\') {
+                    if (pos == limit) {
+                        this.pos = pos;
+                        this.read();
+                        pos = this.pos;
+                        limit = this.limit;
+                    } else {
+                        pos++;
+                    }
+                }
+            }
+
+            this.pos = pos;
+            if (!this.fill()) throw new GonParseException("Unexpected end of file in string");
+        }
+    }
+
+    @Override
+    public String readName() throws IOException {
+        char[] buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+
+        while (pos < limit && GonToken.isNameChar(buf[pos])) pos++;
+        this.pos = pos;
+
+        if (pos < limit || this.in == null) return this.name(buf, start, pos - start);
+
+        // The name reaches the end of the window. Continue with a builder.
+        StringBuilder builder = new StringBuilder().append(buf, start, pos - start);
+        for (int c = this.peek(); GonToken.isNameChar(c); c = this.peek()) {
+            builder.append((char) c);
+            this.pos++;
+        }
+
+        return this.name(builder.toString());
+    }
+
+    @Override
+    public String readValue() throws IOException {
+        char[] buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+
+        while (pos < limit && GonToken.isValueChar(buf[pos])) pos++;
+        this.pos = pos;
+
+        if (pos < limit || this.in == null) return new String(buf, start, pos - start);
+
+        StringBuilder builder = new StringBuilder().append(buf, start, pos - start);
+        for (int c = this.peek(); GonToken.isValueChar(c); c = this.peek()) {
+            builder.append((char) c);
+            this.pos++;
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public GonValue readScalar() throws IOException {
+        char[] buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+
+        while (pos < limit && GonToken.isValueChar(buf[pos])) pos++;
+        this.pos = pos;
+
+        if (pos < limit || this.in == null) return ScalarParser.parse(buf, start, pos - start);
+
+        // The scalar reaches the end of the window and might continue after the next fill.
+        return this.readScalar(buf, start, pos - start);
+    }
+
+    @Override
+    public String readString() throws IOException {
+        char[] buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+        char quotes = GonToken.STRING_QUOTES.getToken();
+
+        // Fast path: the whole string is inside the window and has no escapes.
+        while (pos < limit) {
+            char c = buf[pos];
+
+            if (c == quotes) {
+                this.pos = pos + 1;
+                return this.string(buf, start, pos - start);
+            }
+
+            if (c == '\\') break;
+            pos++;
+        }
+
+        this.pos = pos;
+        return this.readString(new StringBuilder().append(buf, start, pos - start));
+    }
+
+    @Override
+    public boolean isSliceable() {
+        return this.in == null;
+    }
+
+    @Override
+    public GonLexer slice(long from, long to) {
+        if (!this.isSliceable()) return super.slice(from, to);
+
+        int start = (int) (from - this.base);
+        int end = (int) (to - this.base);
+        Objects.checkFromToIndex(start, end, this.buf.length);
+
+        return new CharArrayLexer(this.buf, start, end, this.base);
+    }
+
+    private boolean fill() throws IOException {
+        if (this.in == null) return false;
+
+        // Lines of the window that is replaced. The only position tracking while parsing input from a Reader,
+        // the other lexers count lines only when an error is reported.
+        char[] buf = this.buf;
+        for (int i = 0; i < this.limit; i++) {
+            if (buf[i] == '\n') {
+                this.lines++;
+                this.lineStart = this.base + i + 1;
+            }
+        }
+
+        this.base += this.limit;
+        this.pos = 0;
+        this.limit = 0;
+
+        int read;
+        do {
+            read = this.in.read(this.buf, 0, this.buf.length);
+        } while (read == 0);
+
+        if (read < 0) return false;
+
+        // Skip the byte order mark
+        if (this.base == 0 && this.buf[0] == '\uFEFF') this.pos = 1;
+        if (this.base == 0) this.lineStart = this.pos;
+
+        this.limit = read;
+        return this.pos < this.limit || this.fill();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.in != null) this.in.close();
+
+        this.in = null;
+        this.pos = this.limit;
+    }
+}
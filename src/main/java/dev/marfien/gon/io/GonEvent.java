@@ -0,0 +1,16 @@
+package dev.marfien.gon.io;
+
+public enum GonEvent {
+
+    START_OBJECT,
+    NAME,
+    CLASS,
+    ATTRIBUTE,
+    FLAG,
+    VALUE,
+    START_BODY,
+    END_BODY,
+    END_OBJECT,
+    END_DOCUMENT
+
+}
@@ -0,0 +1,280 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.GonToken;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.exception.GonUnexpectedTokenException;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+public abstract class GonLexer implements Closeable {
+
+    public static final int EOF = -1;
+
+    private char[] valueChars = new char[32];
+
+    private GonSymbolTable symbols;
+    private int maxInternedStringLength;
+
+    public static GonLexer of(Reader in) {
+        return new CharArrayLexer(Objects.requireNonNull(in), CharArrayLexer.DEFAULT_BUFFER_SIZE);
+    }
+
+    public static GonLexer of(String s) {
+        return of(s.toCharArray());
+    }
+
+    public static GonLexer of(char[] chars) {
+        return of(chars, 0, chars.length);
+    }
+
+    public static GonLexer of(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        return new CharArrayLexer(chars, offset, offset + length);
+    }
+
+    // Lexes UTF-8 encoded bytes between the position and the limit of the buffer without decoding them upfront.
+    public static GonLexer of(ByteBuffer buffer) {
+        return new Utf8Lexer(buffer);
+    }
+
+    // Returns the next character without consuming it or EOF.
+    public abstract int peek() throws IOException;
+
+    // Consumes the character last returned by peek().
+    public abstract void skip() throws IOException;
+
+    public int read() throws IOException {
+        int c = this.peek();
+        if (c != EOF) this.skip();
+        return c;
+    }
+
+    // Number of characters consumed so far.
+    public abstract long position();
+
+    // Line and column of the position, both starting at 1. Computed on demand, so only meant for error reporting.
+    // Null if the lexer does not know them.
+    int[] lineAndColumn() {
+        return null;
+    }
+
+    public int skipWhitespace() throws IOException {
+        while (true) {
+            int c = this.peek();
+
+            if (c == GonToken.COMMENT_LINE.getToken()) {
+                this.skipComment();
+            } else if (GonToken.isWhitespace(c)) {
+                this.skip();
+            } else {
+                return c;
+            }
+        }
+    }
+
+    protected void skipComment() throws IOException {
+        for (int c = this.read(); c != '\n' && c != EOF; c = this.read());
+    }
+
+    public String readName() throws IOException {
+        StringBuilder builder = new StringBuilder();
+
+        for (int c = this.peek(); GonToken.isNameChar(c); c = this.peek()) {
+            builder.append((char) c);
+            this.skip();
+        }
+
+        return this.name(builder.toString());
+    }
+
+    public String readValue() throws IOException {
+        StringBuilder builder = new StringBuilder();
+
+        for (int c = this.peek(); GonToken.isValueChar(c); c = this.peek()) {
+            builder.append((char) c);
+            this.skip();
+        }
+
+        return builder.toString();
+    }
+
+    // Skips a body including all nested bodies, strings and comments.
+    // The body opener must already be consumed, the body closer is consumed.
+    public void skipBody() throws IOException {
+        this.skipStructure(1, false);
+    }
+
+    // Skips the next object at the current level including its body.
+    // Returns false without consuming it if the enclosing body closes or the input ends first.
+    public boolean skipObject() throws IOException {
+        int c = this.skipWhitespace();
+        if (c == EOF || c == '}') return false;
+
+        this.skipStructure(0, true);
+        return true;
+    }
+
+    // Skips until the body at the given depth is closed or, with untilBreakPoint, until a ';' at depth 0.
+    // Only tracks the depth, strings and comments. Lexers override it to scan their buffers in bulk.
+    protected void skipStructure(int depth, boolean untilBreakPoint) throws IOException {
+        while (true) {
+            int c = this.peek();
+
+            switch (c) {
+                case EOF -> throw unexpectedEndOfStructure(untilBreakPoint);
+                case '"' -> {
+                    this.skip();
+                    this.skipString();
+                }
+                case '#' -> this.skipComment();
+                case '{' -> {
+                    this.skip();
+                    depth++;
+                }
+                case '}' -> {
+                    if (depth == 0) throw unexpectedBodyCloser();
+
+                    this.skip();
+                    if (--depth == 0) return;
+                }
+                case ';' -> {
+                    this.skip();
+                    if (depth == 0 && untilBreakPoint) return;
+                }
+                default -> this.skip();
+            }
+        }
+    }
+
+    protected static GonParseException unexpectedEndOfStructure(boolean object) {
+        return new GonParseException(object ? "Unexpected end of file in object" : "Unexpected end of file in body");
+    }
+
+    // Quotes only the start of the string
+    protected static GonParseException unterminatedString(CharSequence content) {
+        return new GonParseException("Unexpected end of file in string", GonParseException.preview(content));
+    }
+
+    protected static GonParseException unexpectedBodyCloser() {
+        return new GonUnexpectedTokenException("';', '{'", '}');
+    }
+
+    // Skips the content of a string literal. The opening quotes must already be consumed, the closing ones are consumed.
+    protected void skipString() throws IOException {
+        while (true) {
+            int c = this.read();
+
+            if (c == EOF) throw new GonParseException("Unexpected end of file in string");
+            if (c == '"') return;
+            if (c == '\\') this.read();
+        }
+    }
+
+    // Whether slice(long, long) is supported. Requires the whole input to stay accessible.
+    public boolean isSliceable() {
+        return false;
+    }
+
+    // Creates an independent lexer over the input between the two positions of this lexer.
+    // Positions of the returned lexer are in the same coordinates as the ones of this lexer.
+    public GonLexer slice(long from, long to) {
+        throw new UnsupportedOperationException("This lexer cannot be sliced.");
+    }
+
+    // Reads a literal or number
+    public GonValue readScalar() throws IOException {
+        return this.readScalar(this.valueChars, 0, 0);
+    }
+
+    // Continues a scalar of which the first chars were already scanned.
+    protected final GonValue readScalar(char[] prefix, int offset, int length) throws IOException {
+        char[] chars = this.valueChars(length);
+        if (prefix != chars || offset != 0) System.arraycopy(prefix, offset, chars, 0, length);
+
+        for (int c = this.peek(); GonToken.isValueChar(c); c = this.peek()) {
+            if (length == chars.length) chars = this.valueChars(length * 2);
+
+            chars[length++] = (char) c;
+            this.skip();
+        }
+
+        return ScalarParser.parse(chars, 0, length);
+    }
+
+    // Reusable buffer for scanning scalars. Keeps its content when grown.
+    protected final char[] valueChars(int minLength) {
+        if (this.valueChars.length < minLength)
+            this.valueChars = Arrays.copyOf(this.valueChars, Math.max(minLength, this.valueChars.length * 2));
+
+        return this.valueChars;
+    }
+
+    // Reads the content of a string literal. The opening quotes must already be consumed, the closing ones are consumed.
+    public String readString() throws IOException {
+        return this.readString(new StringBuilder());
+    }
+
+    protected String readString(StringBuilder builder) throws IOException {
+        while (true) {
+            int next = this.read();
+
+            if (next == EOF) throw unterminatedString(builder);
+
+            if (next == '\\') {
+                next = this.read();
+
+                if (next == EOF) continue;
+
+                // The escaping is not added to the string itself.
+                builder.append((char) next);
+                continue;
+            }
+
+            // Closes the String
+            if (next == GonToken.STRING_QUOTES.getToken()) {
+                return this.string(builder.toString());
+            }
+
+            builder.append((char) next);
+        }
+    }
+
+    void setSymbolTable(GonSymbolTable symbols, int maxInternedStringLength) {
+        this.symbols = symbols;
+        this.maxInternedStringLength = maxInternedStringLength;
+    }
+
+    protected final boolean internsNames() {
+        return this.symbols != null;
+    }
+
+    protected final boolean internsStrings(int length) {
+        return this.symbols != null && length <= this.maxInternedStringLength;
+    }
+
+    protected final String name(char[] chars, int offset, int length) {
+        return this.symbols != null ? this.symbols.intern(chars, offset, length) : new String(chars, offset, length);
+    }
+
+    protected final String name(String name) {
+        return this.symbols != null ? this.symbols.intern(name) : name;
+    }
+
+    protected final String string(char[] chars, int offset, int length) {
+        return this.internsStrings(length) ? this.symbols.intern(chars, offset, length) : new String(chars, offset, length);
+    }
+
+    protected final String string(String s) {
+        return this.internsStrings(s.length()) ? this.symbols.intern(s) : s;
+    }
+
+    @Override
+    public abstract void close() throws IOException;
+
+}
@@ -0,0 +1,135 @@
+package dev.marfien.gon.io;
+
+// What a GonReader parsed. Reported to the listener when the reader is closed.
+// Lazily loaded bodies are reported separately when they are loaded.
+public final class GonMetrics {
+
+    private final long chars;
+    private final long bytes;
+    private final long tokens;
+
+    private final long emptyObjects;
+    private final long singleValueObjects;
+    private final long nestedObjects;
+
+    private final long stringValues;
+    private final long intValues;
+    private final long floatValues;
+    private final long booleanValues;
+    private final long nullValues;
+
+    private final int maxDepth;
+
+    private final long parseNanos;
+    private final long estimatedLexNanos;
+
+    GonMetrics(MetricsCounter counter) {
+        this.chars = counter.chars;
+        this.bytes = counter.bytes;
+        this.tokens = counter.tokens;
+        this.emptyObjects = counter.emptyObjects;
+        this.singleValueObjects = counter.singleValueObjects;
+        this.nestedObjects = counter.nestedObjects;
+        this.stringValues = counter.stringValues;
+        this.intValues = counter.intValues;
+        this.floatValues = counter.floatValues;
+        this.booleanValues = counter.booleanValues;
+        this.nullValues = counter.nullValues;
+        this.maxDepth = counter.maxDepth;
+        this.parseNanos = counter.parseNanos;
+        // The estimate may exceed the time it is part of
+        this.estimatedLexNanos = counter.parseNanos > 0 ? Math.min(counter.estimatedLexNanos, counter.parseNanos) : counter.estimatedLexNanos;
+    }
+
+    // Commits a jdk.jfr event per reader if it is enabled in the recording
+    public static Listener jfr() {
+        return GonParseEvent::commit;
+    }
+
+    // Input length in chars, unless the input was UTF-8
+    public long getChars() {
+        return this.chars;
+    }
+
+    // Input length in bytes of UTF-8 input
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    public long getTokens() {
+        return this.tokens;
+    }
+
+    public long getEmptyObjects() {
+        return this.emptyObjects;
+    }
+
+    public long getSingleValueObjects() {
+        return this.singleValueObjects;
+    }
+
+    public long getNestedObjects() {
+        return this.nestedObjects;
+    }
+
+    public long getObjects() {
+        return this.emptyObjects + this.singleValueObjects + this.nestedObjects;
+    }
+
+    public long getStringValues() {
+        return this.stringValues;
+    }
+
+    public long getIntValues() {
+        return this.intValues;
+    }
+
+    public long getFloatValues() {
+        return this.floatValues;
+    }
+
+    // Flags included
+    public long getBooleanValues() {
+        return this.booleanValues;
+    }
+
+    public long getNullValues() {
+        return this.nullValues;
+    }
+
+    // Number of bodies the deepest object is nested in
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    // Time spent in nextObject() and nextEvent() on the calling thread
+    public long getParseNanos() {
+        return this.parseNanos;
+    }
+
+    // Part of the parse time spent in the lexer. Only a sample of the lexer calls is timed, so this is an estimate.
+    public long getEstimatedLexNanos() {
+        return this.estimatedLexNanos;
+    }
+
+    // Part of the parse time spent building objects and events, as estimated from the lexing time
+    public long getEstimatedBuildNanos() {
+        return Math.max(0, this.parseNanos - this.estimatedLexNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "GonMetrics[chars=%d, bytes=%d, tokens=%d, objects=%d/%d/%d, values=%d/%d/%d/%d/%d, maxDepth=%d, parse=%dns, lex~%dns]".formatted(
+                this.chars, this.bytes, this.tokens,
+                this.emptyObjects, this.singleValueObjects, this.nestedObjects,
+                this.stringValues, this.intValues, this.floatValues, this.booleanValues, this.nullValues,
+                this.maxDepth, this.parseNanos, this.estimatedLexNanos
+        );
+    }
+
+    public interface Listener {
+
+        void parsed(GonMetrics metrics);
+
+    }
+}
@@ -0,0 +1,84 @@
+package dev.marfien.gon.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("dev.marfien.gon.Parse")
+@Label("GON Parse")
+@Category("GON")
+@Description("Metrics of a closed GonReader")
+@StackTrace(false)
+final class GonParseEvent extends Event {
+
+    @Label("Chars")
+    long chars;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Empty Objects")
+    long emptyObjects;
+
+    @Label("Single Value Objects")
+    long singleValueObjects;
+
+    @Label("Nested Objects")
+    long nestedObjects;
+
+    @Label("String Values")
+    long stringValues;
+
+    @Label("Int Values")
+    long intValues;
+
+    @Label("Float Values")
+    long floatValues;
+
+    @Label("Boolean Values")
+    long booleanValues;
+
+    @Label("Null Values")
+    long nullValues;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Parse Time")
+    @Timespan
+    long parseNanos;
+
+    @Label("Estimated Lex Time")
+    @Timespan
+    long estimatedLexNanos;
+
+    static void commit(GonMetrics metrics) {
+        GonParseEvent event = new GonParseEvent();
+        if (!event.isEnabled()) return;
+
+        event.chars = metrics.getChars();
+        event.bytes = metrics.getBytes();
+        event.tokens = metrics.getTokens();
+        event.emptyObjects = metrics.getEmptyObjects();
+        event.singleValueObjects = metrics.getSingleValueObjects();
+        event.nestedObjects = metrics.getNestedObjects();
+        event.stringValues = metrics.getStringValues();
+        event.intValues = metrics.getIntValues();
+        event.floatValues = metrics.getFloatValues();
+        event.booleanValues = metrics.getBooleanValues();
+        event.nullValues = metrics.getNullValues();
+        event.maxDepth = metrics.getMaxDepth();
+        event.parseNanos = metrics.getParseNanos();
+        event.estimatedLexNanos = metrics.getEstimatedLexNanos();
+        event.commit();
+    }
+}
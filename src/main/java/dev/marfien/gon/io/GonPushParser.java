@@ -0,0 +1,287 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.GonToken;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.exception.GonUnexpectedTokenException;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.schema.GonSchema;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking parser for UTF-8 input that arrives in chunks. The chunks are scanned for the boundaries of the top level
+// objects, which are parsed as soon as they are complete. Only the bytes of the incomplete object are buffered.
+// Not thread safe.
+public class GonPushParser {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private byte[] buf = new byte[4096];
+    // Start of the current object
+    private int start;
+    // Bytes before are scanned
+    private int scan;
+    private int limit;
+
+    // Position of buf[0] in the input
+    private long dropped;
+    // Line breaks and code points since the last one before scan
+    private int lines;
+    private int column;
+    // Same as above before the current object
+    private int objectLines;
+    private int objectColumn;
+
+    // State of the scanner
+    private int depth;
+    private boolean string;
+    private boolean escape;
+    private boolean comment;
+    private boolean started;
+    // Continuation bytes missing from the code point, which is only decoded outside of strings and comments
+    private int pending;
+    private int codePoint;
+
+    private boolean ended;
+
+    private GonSymbolTable symbols;
+    private int maxInternedStringLength;
+    private GonMetrics.Listener metricsListener;
+    private GonSchema schema;
+
+    private final Queue<GonObject> objects = new ArrayDeque<>();
+
+    // Deduplicates names and short strings of all objects through the table.
+    public GonPushParser withSymbolTable(GonSymbolTable symbols, int maxStringLength) {
+        this.symbols = symbols;
+        this.maxInternedStringLength = maxStringLength;
+        return this;
+    }
+
+    // Validates every top level object against the schema. Pass null to disable validation.
+    public GonPushParser withSchema(GonSchema schema) {
+        this.schema = schema;
+        return this;
+    }
+
+    // Reports the metrics of every top level object once it is parsed. Pass null to disable metrics.
+    public GonPushParser withMetrics(GonMetrics.Listener listener) {
+        this.metricsListener = listener;
+        return this;
+    }
+
+    // Consumes the remaining bytes of the chunk.
+    public GonPushParser feed(ByteBuffer chunk) throws IOException {
+        if (this.ended) throw new IllegalStateException("The end of input was already reached.");
+
+        int length = chunk.remaining();
+        this.ensureCapacity(length);
+        chunk.get(this.buf, this.limit, length);
+        this.limit += length;
+
+        this.scan();
+        return this;
+    }
+
+    public GonPushParser feed(byte[] bytes, int offset, int length) throws IOException {
+        return this.feed(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    // Signals that no more chunks follow. Fails if an object is incomplete.
+    public GonPushParser endOfInput() throws IOException {
+        this.ended = true;
+        if (this.started || this.string)
+            throw new GonParseException("Unexpected end of file in object").at(this.dropped + this.limit, this.lines + 1, this.column + 1);
+        return this;
+    }
+
+    // Whether no complete object is available.
+    public boolean needMoreInput() {
+        return this.objects.isEmpty() && !this.ended;
+    }
+
+    // The next complete object or null if there is none yet.
+    public GonObject nextObject() {
+        return this.objects.poll();
+    }
+
+    public boolean isEndOfInput() {
+        return this.ended && this.objects.isEmpty();
+    }
+
+    // Feeds the whole channel from its start without blocking. Completes with the first object or null if there is
+    // none. Fails like endOfInput() if the input ends within an object.
+    public CompletableFuture<GonObject> parseAsync(AsynchronousFileChannel channel) {
+        CompletableFuture<GonObject> future = new CompletableFuture<>();
+        GonPushParser parser = this;
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        channel.read(buffer, 0, 0L, new CompletionHandler<Integer, Long>() {
+
+            private GonObject first;
+
+            @Override
+            public void completed(Integer read, Long position) {
+                try {
+                    if (read < 0) {
+                        parser.endOfInput();
+                        future.complete(this.first != null ? this.first : parser.nextObject());
+                        return;
+                    }
+
+                    parser.feed(buffer.flip());
+                    buffer.clear();
+
+                    // Later objects are only checked for errors
+                    if (this.first == null) this.first = parser.nextObject();
+                    while (parser.nextObject() != null);
+
+                    long next = position + read;
+                    channel.read(buffer, next, next, this);
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Long position) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    private void scan() throws IOException {
+        byte[] buf = this.buf;
+        int depth = this.depth;
+        boolean string = this.string;
+        boolean escape = this.escape;
+        boolean comment = this.comment;
+        boolean started = this.started;
+        int pending = this.pending;
+        int codePoint = this.codePoint;
+        int lines = this.lines;
+        int column = this.column;
+
+        int pos = this.scan;
+        int limit = this.limit;
+        while (pos < limit) {
+            byte b = buf[pos++];
+
+            if (b == '\n') {
+                lines++;
+                column = 0;
+            } else if ((b & 0xC0) != 0x80) {
+                column++;
+            }
+
+            if (comment) {
+                comment = b != '\n';
+            } else if (string) {
+                if (escape) {
+                    escape = false;
+                } else if (b == '\\') {
+                    escape = true;
+                } else if (b == '"') {
+                    string = false;
+                }
+            } else {
+                switch (b) {
+                    case '#' -> comment = true;
+                    case '"' -> string = started = true;
+                    case '{' -> {
+                        depth++;
+                        started = true;
+                    }
+                    case '}' -> {
+                        if (depth == 0)
+                            throw new GonUnexpectedTokenException("object", '}').at(this.dropped + pos - 1, lines + 1, column);
+                        if (--depth == 0) {
+                            this.complete(pos, lines, column);
+                            started = false;
+                        }
+                    }
+                    case ';' -> {
+                        if (depth == 0) {
+                            this.complete(pos, lines, column);
+                            started = false;
+                        }
+                    }
+                    default -> {
+                        if (b >= 0) {
+                            if (!GonToken.isWhitespace(b)) started = true;
+                        } else if ((b & 0xC0) == 0x80) {
+                            if (pending > 0) {
+                                codePoint = codePoint << 6 | (b & 0x3F);
+                                if (--pending == 0 && !GonToken.isWhitespace(codePoint)) started = true;
+                            }
+                        } else {
+                            // Lead byte. Non-ASCII whitespace is only known once the code point is complete.
+                            pending = (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2 : 3;
+                            codePoint = b & (0x3F >> pending);
+                        }
+                    }
+                }
+            }
+        }
+
+        this.scan = pos;
+        this.depth = depth;
+        this.string = string;
+        this.escape = escape;
+        this.comment = comment;
+        this.started = started;
+        this.pending = pending;
+        this.codePoint = codePoint;
+        this.lines = lines;
+        this.column = column;
+    }
+
+    // Lines and column are those at the end of the object
+    private void complete(int end, int lines, int column) throws IOException {
+        GonLexer lexer = GonLexer.of(ByteBuffer.wrap(this.buf, this.start, end - this.start));
+        try (GonReader reader = new GonReader(lexer)) {
+            if (this.symbols != null) reader.withSymbolTable(this.symbols, this.maxInternedStringLength);
+            if (this.metricsListener != null) reader.withMetrics(this.metricsListener);
+            if (this.schema != null) reader.withSchema(this.schema);
+
+            GonObject object = reader.nextObject();
+            if (object == null || reader.hasNext()) throw new GonParseException("Expected exactly one object");
+
+            this.objects.add(object);
+        } catch (GonParseException e) {
+            // The reader only knows the position within the object
+            throw e.shift(this.dropped + this.start, this.objectLines, this.objectColumn);
+        }
+
+        this.start = end;
+        this.objectLines = lines;
+        this.objectColumn = column;
+    }
+
+    private void ensureCapacity(int length) {
+        if (this.limit + length <= this.buf.length) return;
+
+        // Drop the bytes of objects that are complete
+        int remaining = this.limit - this.start;
+        if (remaining + length > this.buf.length) {
+            byte[] buf = new byte[Math.max(this.buf.length * 2, remaining + length)];
+            System.arraycopy(this.buf, this.start, buf, 0, remaining);
+            this.buf = buf;
+        } else {
+            System.arraycopy(this.buf, this.start, this.buf, 0, remaining);
+        }
+
+        this.dropped += this.start;
+        this.scan -= this.start;
+        this.limit = remaining;
+        this.start = 0;
+    }
+}
@@ -3,95 +3,626 @@ package dev.marfien.gon.io;
 import dev.marfien.gon.GonToken;
 import dev.marfien.gon.exception.GonParseException;
 import dev.marfien.gon.exception.GonUnexpectedTokenException;
-import dev.marfien.gon.exception.GonUnknownValueException;
 import dev.marfien.gon.object.EmptyGonObject;
 import dev.marfien.gon.object.GonObject;
 import dev.marfien.gon.object.NestedGonObject;
 import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.schema.GonSchema;
+import dev.marfien.gon.schema.GonValidator;
 import dev.marfien.gon.value.*;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class GonReader implements AutoCloseable {
 
-    private PeekReader reader;
-
+    private static final String[] NO_KEYS = new String[0];
+    private static final GonValue[] NO_VALUES = new GonValue[0];
+    private static final GonObject[] NO_OBJECTS = new GonObject[0];
+    // Metrics time one of every 64 lexer calls
+    private static final int LEXER_SAMPLE_MASK = 63;
+
+    private static final String HEADER_TOKENS = "'%S', '%S', '%S', '%S', attribute name".formatted(
+            GonToken.BREAK_POINT, GonToken.BODY_OPENER, GonToken.VALUE_OPENER, GonToken.FLAG_START
+    );
+
+    private GonLexer lexer;
+    private ReaderSettings settings = ReaderSettings.DEFAULT;
+    private ForkJoinPool pool;
+
+    // Scratch space for the header that is currently read
+    private String[] keys = new String[8];
+    private GonValue[] values = new GonValue[8];
+    private int attributeCount;
+
+    // Scratch space for the bodies that are currently read, one per level
+    private GonObject[][] bodies = new GonObject[8][];
+    private int bodyLevel;
+
+    private EventState state = EventState.OBJECT;
+    private int depth;
+    private String eventText;
+    private GonValue eventValue;
+    // Name of the NAME event while the CLASS event is pending
+    private String eventName;
+
+    private GonValidator validator;
+
+    // Null unless enabled, so disabled metrics cost a null check
+    private MetricsCounter metrics;
+    private GonMetrics.Listener metricsListener;
+    private long metricsStart;
+
+    // Continues with the lexer of a PeekReader, so a peeked char is not lost
+    @SuppressWarnings("deprecation")
     public GonReader(Reader in) {
-        this.reader = in instanceof PeekReader peekReader ? peekReader : new PeekReader(in);
+        this(in instanceof PeekReader peekReader ? peekReader.lexer() : GonLexer.of(in));
+    }
+
+    public GonReader(GonLexer lexer) {
+        this.lexer = Objects.requireNonNull(lexer);
+    }
+
+    GonReader(GonLexer lexer, ReaderSettings settings) {
+        this(lexer);
+        if (settings.symbols() != null) this.withSymbolTable(settings.symbols(), settings.maxInternedStringLength());
+        this.settings = settings;
+    }
+
+    // Deduplicates names, classes and attribute keys through the table.
+    public GonReader withSymbolTable(GonSymbolTable symbols) {
+        return this.withSymbolTable(symbols, 0);
+    }
+
+    // Also deduplicates string values with up to maxStringLength chars.
+    public GonReader withSymbolTable(GonSymbolTable symbols, int maxStringLength) {
+        this.lexer.setSymbolTable(symbols, maxStringLength);
+        this.settings = this.settings.withSymbolTable(symbols, maxStringLength);
+        return this;
+    }
+
+    // Bodies are only skipped and parsed when their nested objects are first accessed.
+    // Only applies if the lexer can be sliced, otherwise bodies are parsed right away.
+    // Lazy bodies intern into the symbol table of this reader, so load them on the thread that uses the table.
+    public GonReader withLazyBodies(boolean lazyBodies) {
+        this.settings = this.settings.withLazyBodies(lazyBodies);
+        return this;
+    }
+
+    // The objects in bodies of top level objects are parsed concurrently on the pool. Pass null to parse sequentially.
+    // Only applies if the lexer can be sliced and lazy bodies are disabled.
+    public GonReader withParallelism(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
     }
 
+    // Reports metrics to the listener when the reader is closed. Pass null to disable them.
+    // The lexing time is estimated from a sample of the lexer calls. Lazy bodies are reported on their own once loaded.
+    public GonReader withMetrics(GonMetrics.Listener listener) {
+        this.metricsListener = listener;
+        this.metrics = listener == null ? null : new MetricsCounter();
+        this.metricsStart = this.lexer.position();
+        return this;
+    }
+
+    // Validates the objects against the schema while they are read. Fails at the first violation.
+    // Bodies are then parsed eagerly and sequentially. Pass null to disable validation.
+    public GonReader withSchema(GonSchema schema) {
+        this.validator = schema == null ? null : schema.newValidator();
+        return this;
+    }
+
+    // Returns null at the end of the document.
     public GonObject nextObject() throws IOException {
+        MetricsCounter metrics = this.metrics;
+
+        try {
+            if (metrics == null || this.bodyLevel > 0) return this.readObject();
+
+            long start = System.nanoTime();
+            try {
+                return this.readObject();
+            } finally {
+                metrics.parseNanos += System.nanoTime() - start;
+            }
+        } catch (GonParseException e) {
+            throw this.located(e);
+        }
+    }
+
+    private GonObject readObject() throws IOException {
+        // Materializes the object whose START_OBJECT event was just returned.
+        if (this.state == EventState.NAME) {
+            this.state = EventState.OBJECT;
+        } else if (this.peekToken() == GonToken.END_OF_FILE) {
+            if (this.bodyLevel > 0 || this.depth > 0) throw new GonParseException("Unexpected end of file in body");
+            return null;
+        }
+
         String name = this.nextName();
         String className = null;
-        Map<String, GonValue> attributes = new HashMap<>();
+        // The header is complete before any nested object is read, so the scratch arrays can be shared.
+        this.attributeCount = 0;
         GonToken token = this.peekToken();
 
         // Read class name after name
         if (token == GonToken.CLASS_OPENER) {
+            name = name.isEmpty() ? null : name;
             className = this.nextClass();
+            if (this.validator != null) this.validator.header(name, className);
             token = this.peekToken();
         } else if (token != GonToken.ATTRIBUTE_VALUE_ASSIGNER) {
             name = name.isEmpty() ? null : name;
+            if (this.validator != null) this.validator.header(name, null);
         // In case there is no name it is an attribute
         } else {
-            this.consumeToken(token);
-            GonValue value = this.nextValue();
-            attributes.put(name, value);
+            String key = name;
             name = null;
+            if (this.validator != null) this.validator.header(null, null);
+
+            this.consumeToken(token);
+            this.putAttribute(key, this.nextValue());
             token = this.peekToken();
         }
 
         while (true) {
             switch (token) {
                 case BREAK_POINT -> {
-                    return new EmptyGonObject(name, className, attributes);
+                    this.consumeToken(token);
+                    if (this.metrics != null) this.metrics.object(MetricsCounter.EMPTY, this.bodyLevel);
+                    if (this.validator != null) this.validator.empty();
+                    return new EmptyGonObject(name, className, this.attributeKeys(), this.attributeValues());
                 }
                 case BODY_OPENER -> {
-                    return new NestedGonObject(name, className, attributes, this.nextBody());
+                    String[] keys = this.attributeKeys();
+                    GonValue[] values = this.attributeValues();
+                    if (this.metrics != null) this.metrics.object(MetricsCounter.NESTED, this.bodyLevel);
+
+                    if (this.validator != null) {
+                        this.validator.startBody();
+                        GonObject[] nestedObjects = this.readBody();
+                        this.validator.endBody();
+                        return new NestedGonObject(name, className, keys, values, nestedObjects);
+                    }
+
+                    if (this.settings.lazyBodies() && this.lexer.isSliceable()) {
+                        this.consumeToken(token);
+                        long start = this.lexer.position();
+                        this.lexer.skipBody();
+
+                        // The body closer is not part of the body
+                        long end = this.lexer.position() - 1;
+                        return new LazyNestedGonObject(name, className, keys, values, this.lexer, start, end, this.settings, this.metricsListener);
+                    }
+
+                    if (this.pool != null && this.bodyLevel == 0 && this.lexer.isSliceable()) {
+                        this.consumeToken(token);
+                        GonObject[] nestedObjects = ParallelBodyParser.parseBody(this.lexer, this.settings, this.pool, this.metrics);
+                        return new NestedGonObject(name, className, keys, values, nestedObjects);
+                    }
+
+                    return new NestedGonObject(name, className, keys, values, this.readBody());
                 }
                 case VALUE_OPENER -> {
                     this.consumeToken(token);
                     GonValue value = this.nextValue();
+                    if (this.validator != null) this.validator.value(value);
                     this.consumeToken(GonToken.BREAK_POINT);
-                    return new SingleValueGonObject(name, className, attributes, value);
+                    if (this.metrics != null) this.metrics.object(MetricsCounter.SINGLE_VALUE, this.bodyLevel);
+                    return new SingleValueGonObject(name, className, this.attributeKeys(), this.attributeValues(), value);
                 }
                 case FLAG_START -> {
-                    Map.Entry<String, GonBoolean> flag = this.nextFlag();
-                    attributes.put(flag.getKey(), flag.getValue());
+                    this.consumeToken(token);
+                    boolean value = true;
+
+                    if (this.peekToken() == GonToken.FLAG_NEGATOR) {
+                        this.consumeToken(GonToken.FLAG_NEGATOR);
+                        value = false;
+                    }
+
+                    this.putAttribute(this.nextName(), value ? GonValue.TRUE : GonValue.FALSE);
+                    if (this.metrics != null) this.metrics.booleanValues++;
                 }
                 // Probably an attribute.
                 case UNKNOWN -> {
-                    Map.Entry<String, GonValue> attribute = this.nextAttribute();
-                    attributes.put(attribute.getKey(), attribute.getValue());
+                    String key = this.nextName();
+                    this.consumeToken(GonToken.ATTRIBUTE_VALUE_ASSIGNER);
+                    this.putAttribute(key, this.nextValue());
                 }
-                default -> throw new GonUnexpectedTokenException(
-                        "'%S', '%S', '%S', '%S', attribute name".formatted(
-                                GonToken.BREAK_POINT, GonToken.BODY_OPENER, GonToken.VALUE_OPENER, GonToken.FLAG_START
-                        ),
-                        (char) this.reader.getPeeked()
-                );
+                default -> throw this.unexpectedHeaderToken();
             }
 
             token = this.peekToken();
         }
     }
 
-    public List<GonObject> nextBody() throws IOException {
-        this.consumeToken(GonToken.BODY_OPENER);
-        List<GonObject> nestedObjects = new LinkedList<>();
-
+    // Whether another object follows before the end of the document or the current body.
+    public boolean hasNext() throws IOException {
         GonToken token = this.peekToken();
-        while (token != GonToken.BODY_CLOSER) {
-            nestedObjects.add(this.nextObject());
-            token = this.peekToken();
+        return token != GonToken.END_OF_FILE && token != GonToken.BODY_CLOSER;
+    }
+
+    // Lazily reads the remaining top level objects. Closing the stream closes the reader.
+    public Stream<GonObject> stream() {
+        return this.stream(false);
+    }
+
+    // In parallel the boundaries of the remaining objects are found first, then the objects are parsed concurrently.
+    // Only applies if the lexer can be sliced and no schema is validated, otherwise the stream is sequential.
+    public Stream<GonObject> stream(boolean parallel) {
+        Stream<GonObject> stream;
+
+        if (parallel && this.lexer.isSliceable() && this.validator == null) {
+            stream = StreamSupport.stream(this::recordSpliterator, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED, true);
+        } else {
+            Iterator<GonObject> iterator = new Iterator<>() {
+
+                private GonObject next;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.next == null) {
+                        try {
+                            this.next = nextObject();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+
+                    return this.next != null;
+                }
+
+                @Override
+                public GonObject next() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+
+                    GonObject next = this.next;
+                    this.next = null;
+                    return next;
+                }
+            };
+
+            stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+
+        return stream.onClose(() -> {
+            try {
+                this.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Spliterator<GonObject> recordSpliterator() {
+        GonLexer lexer = this.lexer;
+        ReaderSettings settings = this.settings;
+        MetricsCounter metrics = this.metrics;
+
+        // boundaries[i] is the start of object i and the end of object i - 1
+        long[] boundaries = new long[64];
+        int count = 0;
+
+        try {
+            lexer.skipWhitespace();
+            boundaries[0] = lexer.position();
+
+            while (lexer.skipObject()) {
+                if (++count == boundaries.length) boundaries = Arrays.copyOf(boundaries, count * 2);
+                boundaries[count] = lexer.position();
+            }
+
+            if (lexer.peek() != GonLexer.EOF) throw new GonUnexpectedTokenException("object", (char) lexer.peek());
+        } catch (GonParseException e) {
+            throw new UncheckedIOException(this.located(e));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
 
+        long[] spans = boundaries;
+        // Records parsed on the same thread share a symbol table
+        ThreadLocal<ReaderSettings> workerSettings = ThreadLocal.withInitial(settings::forOtherThread);
+        return IntStream.range(0, count).mapToObj(i -> {
+            try {
+                try (GonReader reader = new GonReader(lexer.slice(spans[i], spans[i + 1]), workerSettings.get())) {
+                    if (metrics != null) reader.withMetrics(metrics::add);
+                    return reader.nextObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).spliterator();
+    }
+
+    // Pull based alternative to nextObject(). Reads only as far as needed for the returned event.
+    public GonEvent nextEvent() throws IOException {
+        MetricsCounter metrics = this.metrics;
+
+        try {
+            if (metrics == null) return this.readEvent();
+
+            long start = System.nanoTime();
+            try {
+                return this.readEvent();
+            } finally {
+                metrics.parseNanos += System.nanoTime() - start;
+            }
+        } catch (GonParseException e) {
+            throw this.located(e);
+        }
+    }
+
+    private GonEvent readEvent() throws IOException {
+        switch (this.state) {
+            case OBJECT -> {
+                GonToken token = this.peekToken();
+
+                if (token == GonToken.END_OF_FILE) {
+                    if (this.depth > 0) throw new GonParseException("Unexpected end of file in body");
+                    return this.event(GonEvent.END_DOCUMENT, null, null, EventState.OBJECT);
+                }
+
+                if (token == GonToken.BODY_CLOSER && this.depth > 0) {
+                    this.consumeToken(token);
+                    if (this.validator != null) this.validator.endBody();
+                    this.depth--;
+                    return this.event(GonEvent.END_BODY, null, null, EventState.END);
+                }
+
+                return this.event(GonEvent.START_OBJECT, null, null, EventState.NAME);
+            }
+            case NAME -> {
+                String name = this.nextName();
+                GonToken token = this.peekToken();
+
+                // In case there is no name it is an attribute
+                if (token == GonToken.ATTRIBUTE_VALUE_ASSIGNER) {
+                    this.consumeToken(token);
+                    GonValue value = this.nextValue();
+
+                    if (this.validator != null) {
+                        this.validator.header(null, null);
+                        this.validator.attribute(name, value);
+                    }
+
+                    return this.event(GonEvent.ATTRIBUTE, name, value, EventState.HEADER);
+                }
+
+                if (!name.isEmpty()) {
+                    if (token == GonToken.CLASS_OPENER) {
+                        this.eventName = name;
+                        return this.event(GonEvent.NAME, name, null, EventState.CLASS);
+                    }
+
+                    if (this.validator != null) this.validator.header(name, null);
+                    return this.event(GonEvent.NAME, name, null, EventState.HEADER);
+                }
+
+                if (token == GonToken.CLASS_OPENER) {
+                    String clazz = this.nextClass();
+                    if (this.validator != null) this.validator.header(null, clazz);
+                    return this.event(GonEvent.CLASS, clazz, null, EventState.HEADER);
+                }
+
+                if (this.validator != null) this.validator.header(null, null);
+                this.state = EventState.HEADER;
+                return this.readEvent();
+            }
+            case CLASS -> {
+                String clazz = this.nextClass();
+                if (this.validator != null) this.validator.header(this.eventName, clazz);
+                this.eventName = null;
+                return this.event(GonEvent.CLASS, clazz, null, EventState.HEADER);
+            }
+            case HEADER -> {
+                GonToken token = this.peekToken();
+                switch (token) {
+                    case BREAK_POINT -> {
+                        this.consumeToken(token);
+                        if (this.metrics != null) this.metrics.object(MetricsCounter.EMPTY, this.depth);
+                        if (this.validator != null) this.validator.empty();
+                        return this.event(GonEvent.END_OBJECT, null, null, EventState.OBJECT);
+                    }
+                    case BODY_OPENER -> {
+                        this.consumeToken(token);
+                        if (this.metrics != null) this.metrics.object(MetricsCounter.NESTED, this.depth);
+                        if (this.validator != null) this.validator.startBody();
+                        this.depth++;
+                        return this.event(GonEvent.START_BODY, null, null, EventState.OBJECT);
+                    }
+                    case VALUE_OPENER -> {
+                        this.consumeToken(token);
+                        GonValue value = this.nextValue();
+                        if (this.validator != null) this.validator.value(value);
+                        this.consumeToken(GonToken.BREAK_POINT);
+                        if (this.metrics != null) this.metrics.object(MetricsCounter.SINGLE_VALUE, this.depth);
+                        return this.event(GonEvent.VALUE, null, value, EventState.END);
+                    }
+                    case FLAG_START -> {
+                        Map.Entry<String, GonBoolean> flag = this.nextFlag();
+                        if (this.validator != null) this.validator.attribute(flag.getKey(), flag.getValue());
+                        return this.event(GonEvent.FLAG, flag.getKey(), flag.getValue(), EventState.HEADER);
+                    }
+                    // Probably an attribute.
+                    case UNKNOWN -> {
+                        Map.Entry<String, GonValue> attribute = this.nextAttribute();
+                        if (this.validator != null) this.validator.attribute(attribute.getKey(), attribute.getValue());
+                        return this.event(GonEvent.ATTRIBUTE, attribute.getKey(), attribute.getValue(), EventState.HEADER);
+                    }
+                    default -> throw this.unexpectedHeaderToken();
+                }
+            }
+            case END -> {
+                return this.event(GonEvent.END_OBJECT, null, null, EventState.OBJECT);
+            }
+            default -> throw new IllegalStateException("Unknown state: " + this.state);
+        }
+    }
+
+    // Skips the next object including its body without materializing it. Returns false if the current body or
+    // the document ends first. After a START_OBJECT event or within its header the rest of that object is skipped.
+    public boolean skipObject() throws IOException {
+        try {
+            switch (this.state) {
+                case OBJECT -> {
+                    if (!this.lexer.skipObject()) return false;
+                }
+                case NAME, CLASS, HEADER -> {
+                    if (!this.lexer.skipObject()) throw new GonParseException("Unexpected end of object");
+                    if (this.validator != null && this.state == EventState.HEADER) this.validator.skip();
+                }
+                case END -> {
+                }
+            }
+        } catch (GonParseException e) {
+            throw this.located(e);
+        }
+
+        this.state = EventState.OBJECT;
+        return true;
+    }
+
+    // Skips the remaining objects of the current body, which must have been opened by a START_BODY event.
+    // The next event is the END_OBJECT of the object the body belongs to.
+    public void skipBody() throws IOException {
+        if (this.state != EventState.OBJECT || this.depth == 0) throw new IllegalStateException("Not within a body.");
+
+        try {
+            this.lexer.skipBody();
+        } catch (GonParseException e) {
+            throw this.located(e);
+        }
+
+        if (this.validator != null) this.validator.skip();
+        this.depth--;
+        this.state = EventState.END;
+    }
+
+    // Name of the NAME event, class of the CLASS event or key of the ATTRIBUTE and FLAG events.
+    public String getText() {
+        return this.eventText;
+    }
+
+    // Value of the ATTRIBUTE, FLAG and VALUE events.
+    public GonValue getValue() {
+        return this.eventValue;
+    }
+
+    // Number of bodies the last event is nested in.
+    public int getDepth() {
+        return this.depth;
+    }
+
+    // Adds the position of the lexer, which is at or right after the token that caused the error.
+    // Line and column are only computed on this path, so parsing valid input pays nothing for them.
+    private GonParseException located(GonParseException e) {
+        GonLexer lexer = this.lexer;
+        if (e.getOffset() >= 0 || lexer == null) return e;
+
+        int[] lineAndColumn = lexer.lineAndColumn();
+        return lineAndColumn == null ? e.at(lexer.position(), -1, -1) : e.at(lexer.position(), lineAndColumn[0], lineAndColumn[1]);
+    }
+
+    private GonEvent event(GonEvent event, String text, GonValue value, EventState next) {
+        this.eventText = text;
+        this.eventValue = value;
+        this.state = next;
+        return event;
+    }
+
+    private GonUnexpectedTokenException unexpectedHeaderToken() throws IOException {
+        return new GonUnexpectedTokenException(HEADER_TOKENS, (char) this.lexer.peek());
+    }
+
+    public List<GonObject> nextBody() throws IOException {
+        return Arrays.asList(this.readBody());
+    }
+
+    private GonObject[] readBody() throws IOException {
+        this.consumeToken(GonToken.BODY_OPENER);
+        GonObject[] nestedObjects = this.readObjects(GonToken.BODY_CLOSER);
         this.consumeToken(GonToken.BODY_CLOSER);
         return nestedObjects;
     }
 
+    // Reads all remaining objects. Errors are located by this reader, so those in slices get their position in the input.
+    GonObject[] readObjects() throws IOException {
+        try {
+            return this.readObjects(GonToken.END_OF_FILE);
+        } catch (GonParseException e) {
+            throw this.located(e);
+        }
+    }
+
+    private GonObject[] readObjects(GonToken end) throws IOException {
+        // Every nesting level reuses its own scratch array
+        int level = this.bodyLevel++;
+        if (level == this.bodies.length) this.bodies = Arrays.copyOf(this.bodies, level * 2);
+
+        GonObject[] scratch = this.bodies[level];
+        if (scratch == null) scratch = this.bodies[level] = new GonObject[16];
+        int count = 0;
+
+        try {
+            GonToken token = this.peekToken();
+            while (token != end) {
+                GonObject object = this.readObject();
+
+                if (count == scratch.length) scratch = this.bodies[level] = Arrays.copyOf(scratch, count * 2);
+                scratch[count++] = object;
+
+                token = this.peekToken();
+            }
+
+            return count == 0 ? NO_OBJECTS : Arrays.copyOf(scratch, count);
+        } finally {
+            Arrays.fill(scratch, 0, count, null);
+            this.bodyLevel--;
+        }
+    }
+
+    private void putAttribute(String key, GonValue value) throws GonParseException {
+        if (this.validator != null) this.validator.attribute(key, value);
+
+        String[] keys = this.keys;
+        int count = this.attributeCount;
+
+        // Later declarations override earlier ones
+        for (int i = 0; i < count; i++) {
+            if (keys[i] == key || keys[i].equals(key)) {
+                this.values[i] = value;
+                return;
+            }
+        }
+
+        if (count == keys.length) {
+            this.keys = keys = Arrays.copyOf(keys, count * 2);
+            this.values = Arrays.copyOf(this.values, count * 2);
+        }
+
+        keys[count] = key;
+        this.values[count] = value;
+        this.attributeCount = count + 1;
+    }
+
+    private String[] attributeKeys() {
+        return this.attributeCount == 0 ? NO_KEYS : Arrays.copyOf(this.keys, this.attributeCount);
+    }
+
+    private GonValue[] attributeValues() {
+        if (this.attributeCount == 0) return NO_VALUES;
+
+        GonValue[] values = Arrays.copyOf(this.values, this.attributeCount);
+        Arrays.fill(this.values, 0, this.attributeCount, null);
+        return values;
+    }
+
     public String nextClass() throws IOException {
         this.consumeToken(GonToken.CLASS_OPENER);
         String className = this.nextName();
@@ -117,183 +648,130 @@ public class GonReader implements AutoCloseable {
         }
 
         String name = this.nextName();
+        if (this.metrics != null) this.metrics.booleanValues++;
         return new AbstractMap.SimpleEntry<>(name, value ? GonValue.TRUE : GonValue.FALSE);
     }
 
     public GonValue nextValue() throws IOException {
+        GonValue value;
+
         // if first is '"' than read do string stuff
         if (this.peekToken() == GonToken.STRING_QUOTES) {
-            return new GonString(this.nextString());
-        }
-
-        String valueString = this.nextValueString();
-
-        if (valueString.isEmpty()) {
-            throw new GonParseException("Empty value");
-        }
-
-        // Literals
-        if ("false".equals(valueString)) return GonValue.FALSE;
-        if ("true".equals(valueString)) return GonValue.TRUE;
-        if ("null".equals(valueString)) return GonValue.NULL;
-
-        // Classic number declarations
-        if (isNumber(valueString)) {
-            // If it does not contain a period it is not a decimal number.
-            return valueString.indexOf('.') == -1
-                    ? new GonInt(Long.parseLong(valueString))
-                    : new GonFloat(Double.parseDouble(valueString));
+            value = new GonString(this.nextString());
+        } else if (!this.sampleLexer()) {
+            value = this.lexer.readScalar();
+            if (this.metrics == null) return value;
+        } else {
+            long start = System.nanoTime();
+            value = this.lexer.readScalar();
+            this.lexed(start);
         }
 
-        // Number declaration with custom radix
-        if (valueString.startsWith("0x")) return new GonInt(parseHex(valueString));
-        if (valueString.startsWith("0b")) return new GonInt(parseBinary(valueString));
-
-        throw new GonUnknownValueException(valueString);
+        if (this.metrics != null) this.metrics.value(value);
+        return value;
     }
 
     public String nextString() throws IOException {
         this.consumeToken(GonToken.STRING_QUOTES);
+        if (!this.sampleLexer()) return this.lexer.readString();
 
-        StringBuilder builder = new StringBuilder();
-        boolean nextEscaped = false;
-        do {
-            int next = this.reader.read();
-
-            if (next == -1) {
-                throw new GonParseException("Unexpected end of file in: String: %s<EOF>".formatted(builder.toString()));
-            }
-
-            if (nextEscaped) {
-                builder.append(next);
-                nextEscaped = false;
-                // Jump to next. Char is already added
-                continue;
-            }
-
-            if (next == '\\') {
-                nextEscaped = true;
-                // The escaping is not added to the string itself.
-                continue;
-            }
-
-            // Closes the String
-            if (next == GonToken.STRING_QUOTES.getToken()) {
-                break;
-            }
-
-            builder.append(next);
-        } while (true);
-
-        return builder.toString();
+        long start = System.nanoTime();
+        String string = this.lexer.readString();
+        this.lexed(start);
+        return string;
     }
 
     public String nextValueString() throws IOException {
-        StringBuilder builder = new StringBuilder();
-
-        int ch = this.reader.peek();
-        while (Character.isLetterOrDigit(ch) || ch == '.' || ch == '-') {
-            builder.append((char) ch);
-            ch = this.reader.peek();
-        }
+        if (this.metrics != null) this.metrics.tokens++;
+        if (!this.sampleLexer()) return this.lexer.readValue();
 
-        return builder.toString();
+        long start = System.nanoTime();
+        String value = this.lexer.readValue();
+        this.lexed(start);
+        return value;
     }
 
     public String nextName() throws IOException {
-        StringBuilder builder = new StringBuilder();
-
-        int ch = this.reader.peek();
-        while (Character.isLetterOrDigit(ch)) {
-            builder.append((char) ch);
-            ch = this.reader.peek();
+        if (this.metrics != null) this.metrics.tokens++;
+        if (!this.sampleLexer()) {
+            this.lexer.skipWhitespace();
+            return this.lexer.readName();
         }
 
-        return builder.toString();
+        long start = System.nanoTime();
+        this.lexer.skipWhitespace();
+        String name = this.lexer.readName();
+        this.lexed(start);
+        return name;
     }
 
     public void consumeToken(GonToken expected) throws IOException {
-        GonToken actualToken = this.nextToken();
-        if (actualToken != expected)
-            throw new GonUnexpectedTokenException(expected.getToken(), actualToken.getToken());
+        int token = this.skipWhitespace();
+        if (GonToken.byToken((char) token) != expected)
+            throw new GonUnexpectedTokenException(expected.getToken(), (char) token);
+
+        this.lexer.skip();
+        if (this.metrics != null) this.metrics.tokens++;
     }
 
     public GonToken nextToken() throws IOException {
-        int token;
-        do {
-            token = this.reader.read();
-
-            if (token == GonToken.COMMENT_LINE.getToken())
-                this.skipComment();
-        } while (Character.isWhitespace(token));
+        int token = this.skipWhitespace();
+        this.lexer.skip();
+        if (this.metrics != null) this.metrics.tokens++;
 
         return GonToken.byToken((char) token);
     }
 
     public GonToken peekToken() throws IOException {
-        int token;
-        do {
-            token = this.reader.peek();
+        return GonToken.byToken((char) this.skipWhitespace());
+    }
 
-            if (token == GonToken.COMMENT_LINE.getToken())
-                skipComment();
-        } while (Character.isWhitespace(token));
+    private int skipWhitespace() throws IOException {
+        if (!this.sampleLexer()) return this.lexer.skipWhitespace();
 
-        return GonToken.byToken((char) token);
+        long start = System.nanoTime();
+        int c = this.lexer.skipWhitespace();
+        this.lexed(start);
+        return c;
     }
 
-    private void skipComment() throws IOException {
-        this.consumeToken(GonToken.COMMENT_LINE);
-
-        for (int token = this.reader.peek(); token != '\n'; token = this.reader.peek());
+    // Reading the clock around every lexer call would cost more than many of the calls themselves
+    private boolean sampleLexer() {
+        return this.metrics != null && (++this.metrics.lexerCalls & LEXER_SAMPLE_MASK) == 0;
+    }
 
-        // Actually read the character. Until now, it is just peeked, but not consumed.
-        assert this.reader.read() == '\n';
+    private void lexed(long start) {
+        this.metrics.estimatedLexNanos += (System.nanoTime() - start) * (LEXER_SAMPLE_MASK + 1);
     }
 
     @Override
-    public void close() throws Exception {
-        this.reader.close();
-        this.reader = null;
-    }
-
-    private static boolean isNumber(String s) {
-        boolean foundPeriod = false;
-        char[] chars = s.toCharArray();
-        // Skipping the '-' if it is present
-        for (int i = chars[0] == '-' ? 1 : 0; i < chars.length; i++) {
-            char c = chars[i];
-            // One period is allowed
-            if (c == '.') {
-                // If there is a second is cannot be cast to a number.
-                if (foundPeriod) return false;
-
-                foundPeriod = true;
-            }
-
-            if (c < '0' || c > '9')
-                return false;
+    public void close() throws IOException {
+        if (this.lexer == null) return;
+
+        MetricsCounter metrics = this.metrics;
+        if (metrics != null) {
+            long length = this.lexer.position() - this.metricsStart;
+            if (this.lexer instanceof Utf8Lexer) metrics.bytes = length;
+            else metrics.chars = length;
         }
 
-        return true;
-    }
+        this.lexer.close();
+        this.lexer = null;
 
-    private static long parseHex(String s) throws GonParseException {
-        // HEX: radix 16
-        try {
-            return Long.parseLong(s, 16);
-        } catch (NumberFormatException e) {
-            throw new GonParseException("Cannot parse HEX number. Invalid format: " + s, e);
-        }
+        if (metrics != null) this.metricsListener.parsed(metrics.snapshot());
     }
 
-    private static long parseBinary(String s) throws GonParseException {
-        // Binary: radix 8
-        try {
-            return Long.parseLong(s, 8);
-        } catch (NumberFormatException e) {
-            throw new GonParseException("Cannot parse number in binary format. Invalid format: " + s, e);
-        }
+    private enum EventState {
+        // Before an object, the end of a body or the end of the document
+        OBJECT,
+        // After START_OBJECT
+        NAME,
+        // After a NAME followed by a class
+        CLASS,
+        // Within the attributes and flags of the header
+        HEADER,
+        // Before the END_OBJECT of an object with a value or body
+        END
     }
 
 }
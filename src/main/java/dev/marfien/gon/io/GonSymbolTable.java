@@ -0,0 +1,153 @@
+package dev.marfien.gon.io;
+
+// Deduplicates names and short strings while parsing. Lookups hash the characters in place, so a hit creates no String.
+// Not thread safe. Share a table only between readers used by the same thread.
+public final class GonSymbolTable {
+
+    private static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+    private final int maxSize;
+
+    // Only read, so workers can share the table of a reader that waits for them
+    private final GonSymbolTable parent;
+
+    private String[] symbols = new String[256];
+    private int[] hashes = new int[256];
+    private int size;
+
+    public GonSymbolTable() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    // Once maxSize symbols are stored, new ones are returned without being stored.
+    public GonSymbolTable(int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Max size must not be negative.");
+        this.maxSize = maxSize;
+        this.parent = null;
+    }
+
+    // Returns the symbols of the parent and stores new ones in this table
+    GonSymbolTable(GonSymbolTable parent) {
+        this.maxSize = parent.maxSize;
+        this.parent = parent;
+    }
+
+    public String intern(char[] chars, int offset, int length) {
+        // Same as String.hashCode()
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        if (this.parent != null) {
+            String symbol = this.parent.find(hash, chars, offset, length);
+            if (symbol != null) return symbol;
+        }
+
+        String[] symbols = this.symbols;
+        int mask = symbols.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            String symbol = symbols[i];
+
+            if (symbol == null) {
+                return this.add(i, hash, new String(chars, offset, length));
+            }
+
+            if (this.hashes[i] == hash && matches(symbol, chars, offset, length)) {
+                return symbol;
+            }
+        }
+    }
+
+    public String intern(String s) {
+        int hash = s.hashCode();
+
+        if (this.parent != null) {
+            String symbol = this.parent.find(hash, s);
+            if (symbol != null) return symbol;
+        }
+
+        String[] symbols = this.symbols;
+        int mask = symbols.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            String symbol = symbols[i];
+
+            if (symbol == null) {
+                return this.add(i, hash, s);
+            }
+
+            if (this.hashes[i] == hash && symbol.equals(s)) {
+                return symbol;
+            }
+        }
+    }
+
+    private String find(int hash, char[] chars, int offset, int length) {
+        String[] symbols = this.symbols;
+        int mask = symbols.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            String symbol = symbols[i];
+            if (symbol == null) return this.parent != null ? this.parent.find(hash, chars, offset, length) : null;
+            if (this.hashes[i] == hash && matches(symbol, chars, offset, length)) return symbol;
+        }
+    }
+
+    private String find(int hash, String s) {
+        String[] symbols = this.symbols;
+        int mask = symbols.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            String symbol = symbols[i];
+            if (symbol == null) return this.parent != null ? this.parent.find(hash, s) : null;
+            if (this.hashes[i] == hash && symbol.equals(s)) return symbol;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private String add(int index, int hash, String symbol) {
+        if (this.size >= this.maxSize) return symbol;
+
+        this.symbols[index] = symbol;
+        this.hashes[index] = hash;
+
+        // Keep the load factor at 0.5 at most
+        if (++this.size * 2 > this.symbols.length) this.grow();
+
+        return symbol;
+    }
+
+    private void grow() {
+        String[] oldSymbols = this.symbols;
+        int[] oldHashes = this.hashes;
+
+        this.symbols = new String[oldSymbols.length * 2];
+        this.hashes = new int[oldSymbols.length * 2];
+
+        int mask = this.symbols.length - 1;
+        for (int j = 0; j < oldSymbols.length; j++) {
+            if (oldSymbols[j] == null) continue;
+
+            int i = spread(oldHashes[j]) & mask;
+            while (this.symbols[i] != null) i = (i + 1) & mask;
+
+            this.symbols[i] = oldSymbols[j];
+            this.hashes[i] = oldHashes[j];
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String symbol, char[] chars, int offset, int length) {
+        if (symbol.length() != length) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != chars[offset + i]) return false;
+        }
+
+        return true;
+    }
+}
@@ -1,4 +1,456 @@
 package dev.marfien.gon.io;
 
-public class GonWriter {
+import dev.marfien.gon.GonToken;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+public class GonWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Characters that have to be escaped within strings
+    private static final boolean[] ESCAPED = new boolean[128];
+
+    static {
+        ESCAPED[GonToken.STRING_QUOTES.getToken()] = true;
+        ESCAPED['\\'] = true;
+    }
+
+    // States of an open object
+    private static final byte EMPTY_HEADER = 0;
+    private static final byte HEADER = 1;
+    private static final byte VALUE = 2;
+    private static final byte BODY = 3;
+
+    private final Sink sink;
+
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+
+    private boolean pretty = true;
+    private String indent = "  ";
+
+    private byte[] states = new byte[16];
+    private int depth;
+
+    public GonWriter(Writer out) {
+        this.sink = new WriterSink(Objects.requireNonNull(out));
+    }
+
+    public GonWriter(OutputStream out) {
+        this.sink = new OutputStreamSink(Objects.requireNonNull(out));
+    }
+
+    public GonWriter(WritableByteChannel out) {
+        this.sink = new ChannelSink(Objects.requireNonNull(out));
+    }
+
+    // Pretty printing puts each object on its own indented line. Without it only the required whitespace is written.
+    public GonWriter withPrettyPrinting(boolean pretty) {
+        this.pretty = pretty;
+        return this;
+    }
+
+    public GonWriter withIndent(String indent) {
+        for (int i = 0; i < indent.length(); i++) {
+            if (!GonToken.isWhitespace(indent.charAt(i)))
+                throw new IllegalArgumentException("Indent must only consist of whitespaces.");
+        }
+
+        this.indent = indent;
+        return this;
+    }
+
+    public GonWriter writeObject(GonObject object) throws IOException {
+        this.beginObject(object.getName().orElse(null), object.getClazz().orElse(null));
+
+        for (Map.Entry<String, GonValue> attribute : object.getAttributes().entrySet()) {
+            if (attribute.getValue() instanceof GonBoolean bool) {
+                this.flag(attribute.getKey(), bool.getAsBoolean());
+            } else {
+                this.attribute(attribute.getKey(), attribute.getValue());
+            }
+        }
+
+        if (object instanceof SingleValueGonObject singleValue) {
+            this.value(singleValue.getValue());
+        } else if (object instanceof NestedGonObject nested) {
+            this.beginBody();
+            for (GonObject nestedObject : nested.getNestedObjects()) {
+                this.writeObject(nestedObject);
+            }
+        }
+
+        return this.endObject();
+    }
+
+    public GonWriter beginObject() throws IOException {
+        return this.beginObject(null, null);
+    }
+
+    public GonWriter beginObject(String name) throws IOException {
+        return this.beginObject(name, null);
+    }
+
+    public GonWriter beginObject(String name, String clazz) throws IOException {
+        if (name != null) checkName(name);
+        if (clazz != null) checkName(clazz);
+
+        if (this.depth > 0) {
+            this.beginBody();
+        }
+
+        if (this.pretty && this.depth > 0) {
+            this.newLine();
+        }
+
+        if (this.depth == this.states.length) {
+            this.states = Arrays.copyOf(this.states, this.depth * 2);
+        }
+
+        this.states[this.depth++] = EMPTY_HEADER;
+
+        if (name != null) {
+            this.writeName(name);
+            this.states[this.depth - 1] = HEADER;
+        }
+
+        if (clazz != null) {
+            this.write(GonToken.CLASS_OPENER.getToken());
+            this.writeName(clazz);
+            this.write(GonToken.CLASS_CLOSER.getToken());
+            this.states[this.depth - 1] = HEADER;
+        }
+
+        return this;
+    }
+
+    public GonWriter attribute(String key, GonValue value) throws IOException {
+        this.beginHeaderElement();
+        this.writeName(key);
+        this.write(GonToken.ATTRIBUTE_VALUE_ASSIGNER.getToken());
+        this.writeValue(value);
+        return this;
+    }
+
+    public GonWriter flag(String name, boolean value) throws IOException {
+        this.beginHeaderElement();
+        this.write(GonToken.FLAG_START.getToken());
+        if (!value) this.write(GonToken.FLAG_NEGATOR.getToken());
+        this.writeName(name);
+        return this;
+    }
+
+    public GonWriter value(GonValue value) throws IOException {
+        this.checkHeader();
+        this.write(GonToken.VALUE_OPENER.getToken());
+        if (this.pretty) this.write(' ');
+        this.writeValue(value);
+        this.states[this.depth - 1] = VALUE;
+        return this;
+    }
+
+    // Opens the body of the current object even if no nested objects follow.
+    public GonWriter beginBody() throws IOException {
+        if (this.depth == 0) throw new IllegalStateException("There is no open object.");
+        if (this.states[this.depth - 1] == BODY) return this;
+
+        this.checkHeader();
+        if (this.pretty && this.states[this.depth - 1] != EMPTY_HEADER) this.write(' ');
+        this.write(GonToken.BODY_OPENER.getToken());
+        this.states[this.depth - 1] = BODY;
+        return this;
+    }
+
+    public GonWriter endObject() throws IOException {
+        if (this.depth == 0) throw new IllegalStateException("There is no open object.");
+
+        if (this.states[--this.depth] == BODY) {
+            if (this.pretty) this.newLine();
+            this.write(GonToken.BODY_CLOSER.getToken());
+        } else {
+            this.write(GonToken.BREAK_POINT.getToken());
+        }
+
+        if (this.pretty && this.depth == 0) this.write('\n');
+
+        return this;
+    }
+
+    private void beginHeaderElement() throws IOException {
+        this.checkHeader();
+        if (this.states[this.depth - 1] == HEADER) this.write(' ');
+        this.states[this.depth - 1] = HEADER;
+    }
+
+    private void checkHeader() {
+        if (this.depth == 0) throw new IllegalStateException("There is no open object.");
+
+        byte state = this.states[this.depth - 1];
+        if (state == VALUE) throw new IllegalStateException("The object already has a value.");
+        if (state == BODY) throw new IllegalStateException("The header of the object is already closed.");
+    }
+
+    private void newLine() throws IOException {
+        this.write('\n');
+        for (int i = 0; i < this.depth; i++) {
+            this.write(this.indent);
+        }
+    }
+
+    private void writeName(String name) throws IOException {
+        checkName(name);
+        this.write(name);
+    }
+
+    private static void checkName(String name) {
+        if (name.isEmpty()) throw new IllegalArgumentException("Name must not be empty.");
+
+        for (int i = 0; i < name.length(); i++) {
+            if (!GonToken.isNameChar(name.charAt(i)))
+                throw new IllegalArgumentException("Names must only contain letters and digits: " + name);
+        }
+    }
+
+    private void writeValue(GonValue value) throws IOException {
+        if (value instanceof GonString string) {
+            this.writeString(string.get());
+        } else if (value instanceof GonInt integer) {
+            this.writeLong(integer.getAsLong());
+        } else if (value instanceof GonFloat f) {
+            double d = f.getAsDouble();
+            if (Double.isNaN(d) || Double.isInfinite(d))
+                throw new IllegalArgumentException("Cannot write %s as GON value.".formatted(d));
+
+            this.write(Double.toString(d));
+        } else {
+            // Booleans and null
+            this.write(value.toString());
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        this.write(GonToken.STRING_QUOTES.getToken());
+
+        int length = s.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || !ESCAPED[c]) continue;
+
+            this.write(s, start, i);
+            this.write('\\');
+            start = i;
+        }
+
+        this.write(s, start, length);
+        this.write(GonToken.STRING_QUOTES.getToken());
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            this.write(Long.toString(value));
+            return;
+        }
+
+        // Long.MIN_VALUE has 20 characters
+        if (this.pos + 20 > this.buf.length) this.flushBuffer();
+
+        if (value < 0) {
+            this.buf[this.pos++] = '-';
+            value = -value;
+        }
+
+        int end = this.pos + digits(value);
+        int i = end;
+        do {
+            this.buf[--i] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        this.pos = end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+
+        return digits;
+    }
+
+    private void write(char c) throws IOException {
+        if (this.pos == this.buf.length) this.flushBuffer();
+        this.buf[this.pos++] = c;
+    }
+
+    private void write(String s) throws IOException {
+        this.write(s, 0, s.length());
+    }
+
+    private void write(String s, int from, int to) throws IOException {
+        while (from < to) {
+            if (this.pos == this.buf.length) this.flushBuffer();
+
+            int length = Math.min(to - from, this.buf.length - this.pos);
+            s.getChars(from, from + length, this.buf, this.pos);
+            this.pos += length;
+            from += length;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        int length = this.pos;
+        // Keep a trailing high surrogate until its low surrogate is written
+        boolean carry = length > 1 && Character.isHighSurrogate(this.buf[length - 1]);
+        if (carry) length--;
+
+        this.sink.write(this.buf, length);
+
+        if (carry) this.buf[0] = this.buf[length];
+        this.pos -= length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.flushBuffer();
+        if (this.pos > 0) this.sink.write(this.buf, this.pos);
+        this.pos = 0;
+        this.sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.sink.close();
+    }
+
+    private interface Sink {
+
+        void write(char[] chars, int length) throws IOException;
+
+        void flush() throws IOException;
+
+        void close() throws IOException;
+
+    }
+
+    private record WriterSink(Writer out) implements Sink {
+
+        @Override
+        public void write(char[] chars, int length) throws IOException {
+            this.out.write(chars, 0, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
+
+    // Encodes to UTF-8 without a CharsetEncoder
+    private abstract static class Utf8Sink implements Sink {
+
+        protected final byte[] bytes = new byte[BUFFER_SIZE * 3];
+
+        @Override
+        public void write(char[] chars, int length) throws IOException {
+            byte[] bytes = this.bytes;
+            int pos = 0;
+
+            for (int i = 0; i < length; i++) {
+                char c = chars[i];
+
+                if (c < 0x80) {
+                    bytes[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[pos++] = (byte) (0xC0 | (c >> 6));
+                    bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                    int codePoint = Character.toCodePoint(c, chars[++i]);
+                    bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[pos++] = '?';
+                } else {
+                    bytes[pos++] = (byte) (0xE0 | (c >> 12));
+                    bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+
+            this.writeBytes(pos);
+        }
+
+        protected abstract void writeBytes(int length) throws IOException;
+
+    }
+
+    private static final class OutputStreamSink extends Utf8Sink {
+
+        private final OutputStream out;
+
+        private OutputStreamSink(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        protected void writeBytes(int length) throws IOException {
+            this.out.write(this.bytes, 0, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
+
+    private static final class ChannelSink extends Utf8Sink {
+
+        private final WritableByteChannel out;
+        private final ByteBuffer buffer = ByteBuffer.wrap(this.bytes);
+
+        private ChannelSink(WritableByteChannel out) {
+            this.out = out;
+        }
+
+        @Override
+        protected void writeBytes(int length) throws IOException {
+            this.buffer.clear().limit(length);
+            while (this.buffer.hasRemaining()) {
+                this.out.write(this.buffer);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Remembers where its body is located and parses it when the nested objects are first needed.
+final class LazyNestedGonObject extends NestedGonObject {
+
+    private GonLexer source;
+    private final long start;
+    private final long end;
+    private ReaderSettings settings;
+    private GonMetrics.Listener metricsListener;
+
+    LazyNestedGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues,
+                        GonLexer source, long start, long end, ReaderSettings settings, GonMetrics.Listener metricsListener) {
+        super(name, clazz, attributeKeys, attributeValues);
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.settings = settings;
+        this.metricsListener = metricsListener;
+    }
+
+    @Override
+    protected GonObject[] loadNestedObjects() {
+        // The body is reported to the listener of the reader on its own
+        try (GonReader reader = new GonReader(this.source.slice(this.start, this.end), this.settings).withMetrics(this.metricsListener)) {
+            GonObject[] nestedObjects = reader.readObjects();
+
+            // Not needed any more
+            this.source = null;
+            this.settings = null;
+            this.metricsListener = null;
+            return nestedObjects;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot parse the body of " + this.getName().orElse("an unnamed object"), e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.value.GonBoolean;
+import dev.marfien.gon.value.GonFloat;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonNull;
+import dev.marfien.gon.value.GonString;
+import dev.marfien.gon.value.GonValue;
+
+// Counts what a GonReader parses. Listeners only get a GonMetrics snapshot of it.
+final class MetricsCounter {
+
+    static final int EMPTY = 0;
+    static final int SINGLE_VALUE = 1;
+    static final int NESTED = 2;
+
+    // Input length in the unit of the lexer, bytes for UTF-8 input and chars otherwise
+    long chars;
+    long bytes;
+    long tokens;
+
+    long emptyObjects;
+    long singleValueObjects;
+    long nestedObjects;
+
+    long stringValues;
+    long intValues;
+    long floatValues;
+    long booleanValues;
+    long nullValues;
+
+    int maxDepth;
+
+    long parseNanos;
+    // Scaled up from the sampled lexer calls
+    long estimatedLexNanos;
+    // Lexer calls so far, to pick the timed ones
+    int lexerCalls;
+
+    void object(int kind, int depth) {
+        switch (kind) {
+            case EMPTY -> this.emptyObjects++;
+            case SINGLE_VALUE -> this.singleValueObjects++;
+            default -> this.nestedObjects++;
+        }
+
+        if (depth > this.maxDepth) this.maxDepth = depth;
+    }
+
+    void value(GonValue value) {
+        if (value instanceof GonString) this.stringValues++;
+        else if (value instanceof GonInt) this.intValues++;
+        else if (value instanceof GonFloat) this.floatValues++;
+        else if (value instanceof GonBoolean) this.booleanValues++;
+        else if (value instanceof GonNull) this.nullValues++;
+    }
+
+    // Adds the counts of a reader that parsed part of the input on another thread
+    synchronized void add(GonMetrics other) {
+        this.tokens += other.getTokens();
+        this.emptyObjects += other.getEmptyObjects();
+        this.singleValueObjects += other.getSingleValueObjects();
+        this.nestedObjects += other.getNestedObjects();
+        this.stringValues += other.getStringValues();
+        this.intValues += other.getIntValues();
+        this.floatValues += other.getFloatValues();
+        this.booleanValues += other.getBooleanValues();
+        this.nullValues += other.getNullValues();
+        this.maxDepth = Math.max(this.maxDepth, other.getMaxDepth());
+    }
+
+    synchronized GonMetrics snapshot() {
+        return new GonMetrics(this);
+    }
+}
@@ -0,0 +1,96 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.object.GonObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Finds the boundaries of the objects in a body and parses ranges of them concurrently.
+final class ParallelBodyParser {
+
+    // Ranges with fewer objects are not split any further
+    private static final int MIN_OBJECTS_PER_TASK = 16;
+
+    private ParallelBodyParser() {}
+
+    // The body opener must already be consumed, the body closer is consumed.
+    // The counts of the nested objects are added to the metrics if they are not null.
+    static GonObject[] parseBody(GonLexer lexer, ReaderSettings settings, ForkJoinPool pool, MetricsCounter metrics) throws IOException {
+        // boundaries[i] is the start of object i and the end of object i - 1
+        long[] boundaries = new long[64];
+        int count = 0;
+
+        boundaries[0] = lexer.position();
+        while (lexer.skipObject()) {
+            if (++count == boundaries.length) boundaries = Arrays.copyOf(boundaries, count * 2);
+            boundaries[count] = lexer.position();
+        }
+
+        if (lexer.read() != '}') throw new GonParseException("Unexpected end of file in body");
+
+        GonObject[] nestedObjects = new GonObject[count];
+        if (count == 0) return nestedObjects;
+
+        int objectsPerTask = Math.max(MIN_OBJECTS_PER_TASK, count / (pool.getParallelism() * 4));
+        try {
+            pool.invoke(new ParseTask(lexer, settings, metrics, boundaries, nestedObjects, 0, count, objectsPerTask));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return nestedObjects;
+    }
+
+    private static final class ParseTask extends RecursiveAction {
+
+        private final GonLexer lexer;
+        private final ReaderSettings settings;
+        private final MetricsCounter metrics;
+        private final long[] boundaries;
+        private final GonObject[] result;
+        private final int from;
+        private final int to;
+        private final int objectsPerTask;
+
+        private ParseTask(GonLexer lexer, ReaderSettings settings, MetricsCounter metrics, long[] boundaries,
+                          GonObject[] result, int from, int to, int objectsPerTask) {
+            this.lexer = lexer;
+            this.settings = settings;
+            this.metrics = metrics;
+            this.boundaries = boundaries;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.objectsPerTask = objectsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > this.objectsPerTask) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new ParseTask(this.lexer, this.settings, this.metrics, this.boundaries, this.result, this.from, middle, this.objectsPerTask),
+                        new ParseTask(this.lexer, this.settings, this.metrics, this.boundaries, this.result, middle, this.to, this.objectsPerTask)
+                );
+                return;
+            }
+
+            GonLexer slice = this.lexer.slice(this.boundaries[this.from], this.boundaries[this.to]);
+            try (GonReader reader = new GonReader(slice, this.settings.forOtherThread())) {
+                if (this.metrics != null) reader.withMetrics(this.metrics::add);
+
+                GonObject[] objects = reader.readObjects();
+                if (objects.length != this.to - this.from)
+                    throw new GonParseException("Expected %d objects but parsed %d".formatted(this.to - this.from, objects.length));
+
+                System.arraycopy(objects, 0, this.result, this.from, objects.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
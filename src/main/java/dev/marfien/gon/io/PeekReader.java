@@ -4,16 +4,16 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.Objects;
 
+// Kept for compatibility. Reads through a GonLexer, which GonReader uses directly if it is given a PeekReader.
+@Deprecated
 public class PeekReader extends Reader {
 
-    private final Object peekLock = new Object();
-
-    private Reader in;
+    private GonLexer lexer;
 
     private int peeked = -1;
 
     public PeekReader(Reader in) {
-        this.in = Objects.requireNonNull(in);
+        this.lexer = GonLexer.of(Objects.requireNonNull(in));
     }
 
     @Override
@@ -21,64 +21,60 @@ public class PeekReader extends Reader {
         synchronized (super.lock) {
             Objects.checkFromIndexSize(off, len, cbuf.length);
             if (len == 0) return 0;
+            this.ensureOpen();
 
-            if (this.peeked < 0)
-                return this.in.read(cbuf, off, len);
-
-            cbuf[off] = (char) this.readPeak();
-
-            if (len == 1) return 1;
+            int read = 0;
+            while (read < len) {
+                int c = this.lexer.read();
+                if (c == GonLexer.EOF) break;
+                cbuf[off + read++] = (char) c;
+            }
 
-            return this.in.read(cbuf, ++off, --len);
+            this.peeked = -1;
+            return read == 0 ? -1 : read;
         }
     }
 
     @Override
     public int read() throws IOException {
         synchronized (super.lock) {
-            if (this.peeked == -1)
-                return this.in.read();
-
-            return this.readPeak();
-        }
-    }
-
-    private int readPeak() {
-        synchronized (this.peekLock) {
-            int peek = this.peeked;
+            this.ensureOpen();
             this.peeked = -1;
-            return peek;
+            return this.lexer.read();
         }
     }
 
     public int peek() throws IOException {
-        synchronized (this.peekLock) {
+        synchronized (super.lock) {
             this.ensureOpen();
-
-            this.peeked = this.in.read();
-            return this.peeked;
+            return this.peeked = this.lexer.peek();
         }
     }
 
+    // The char returned by the last peek() if it was not read since, otherwise -1
     public int getPeeked() {
         return this.peeked;
     }
 
+    public boolean isOpen() {
+        return this.lexer != null;
+    }
+
+    GonLexer lexer() {
+        return this.lexer;
+    }
+
     private void ensureOpen() throws IOException {
         if (!this.isOpen())
             throw new IOException("Reader is already closed.");
     }
 
-    public boolean isOpen() {
-        return this.in != null && this.peeked > -2;
-    }
-
     @Override
     public void close() throws IOException {
         synchronized (super.lock) {
-            this.in.close();
-            this.in = null;
-            this.peeked = -2;
+            if (this.lexer != null) this.lexer.close();
+            this.lexer = null;
+            this.peeked = -1;
         }
     }
 }
@@ -0,0 +1,21 @@
+package dev.marfien.gon.io;
+
+// Settings of a GonReader that readers of lazily loaded bodies inherit
+record ReaderSettings(GonSymbolTable symbols, int maxInternedStringLength, boolean lazyBodies) {
+
+    static final ReaderSettings DEFAULT = new ReaderSettings(null, 0, false);
+
+    ReaderSettings withSymbolTable(GonSymbolTable symbols, int maxInternedStringLength) {
+        return new ReaderSettings(symbols, maxInternedStringLength, this.lazyBodies);
+    }
+
+    ReaderSettings withLazyBodies(boolean lazyBodies) {
+        return new ReaderSettings(this.symbols, this.maxInternedStringLength, lazyBodies);
+    }
+
+    // The symbol table is not thread safe, so readers on other threads only look up the symbols of this reader
+    // and store new ones in a table of their own. This reader must not intern while they run.
+    ReaderSettings forOtherThread() {
+        return this.symbols == null ? this : this.withSymbolTable(new GonSymbolTable(this.symbols), this.maxInternedStringLength);
+    }
+}
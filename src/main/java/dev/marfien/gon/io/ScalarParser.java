@@ -0,0 +1,193 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.exception.GonUnknownValueException;
+import dev.marfien.gon.value.GonFloat;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonValue;
+
+// Parses literals and numbers straight from a char range without creating intermediate Strings.
+final class ScalarParser {
+
+    // Every power of ten up to 10^22 is exactly representable as double.
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Largest significand that is exactly representable as double
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+    private ScalarParser() {}
+
+    static GonValue parse(char[] chars, int offset, int length) throws GonParseException {
+        if (length == 0) {
+            throw new GonParseException("Empty value");
+        }
+
+        // Literals
+        if (matches(chars, offset, length, "true")) return GonValue.TRUE;
+        if (matches(chars, offset, length, "false")) return GonValue.FALSE;
+        if (matches(chars, offset, length, "null")) return GonValue.NULL;
+
+        // Number declaration with custom radix
+        if (length > 2 && chars[offset] == '0') {
+            char radix = chars[offset + 1];
+            if (radix == 'x') return GonInt.of(parseHex(chars, offset, length));
+            if (radix == 'b') return GonInt.of(parseBinary(chars, offset, length));
+        }
+
+        return parseDecimal(chars, offset, length);
+    }
+
+    private static GonValue parseDecimal(char[] chars, int offset, int length) throws GonParseException {
+        int end = offset + length;
+        int i = offset;
+
+        boolean negative = chars[i] == '-';
+        if (negative) i++;
+
+        int digitsStart = i;
+        long significand = 0;
+        int significantDigits = 0;
+        // Digits that did not fit into the significand any more
+        int droppedDigits = 0;
+        int fractionDigits = 0;
+        boolean floating = false;
+        boolean overflow = false;
+
+        for (; i < end; i++) {
+            char c = chars[i];
+
+            if (c >= '0' && c <= '9') {
+                if (floating) fractionDigits++;
+
+                // Leading zeros are not significant
+                if (significantDigits == 0 && c == '0') continue;
+
+                if (significantDigits < 18) {
+                    significand = significand * 10 + (c - '0');
+                    significantDigits++;
+                } else {
+                    droppedDigits++;
+                    overflow = true;
+                }
+            } else if (c == '.' && !floating) {
+                floating = true;
+            } else {
+                break;
+            }
+        }
+
+        int digits = i - digitsStart - (floating ? 1 : 0);
+        if (digits == 0) throw unknownValue(chars, offset, length);
+
+        int exponent = 0;
+        if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            floating = true;
+            i++;
+
+            boolean negativeExponent = false;
+            if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+                negativeExponent = chars[i] == '-';
+                i++;
+            }
+
+            if (i == end) throw unknownValue(chars, offset, length);
+
+            for (; i < end; i++) {
+                char c = chars[i];
+                if (c < '0' || c > '9') throw unknownValue(chars, offset, length);
+
+                // Anything beyond this is out of the range of double anyway
+                if (exponent < 100_000) exponent = exponent * 10 + (c - '0');
+            }
+
+            if (negativeExponent) exponent = -exponent;
+        }
+
+        if (i != end) throw unknownValue(chars, offset, length);
+
+        if (!floating) {
+            if (overflow) return GonInt.of(parseLong(chars, offset, length));
+
+            return GonInt.of(negative ? -significand : significand);
+        }
+
+        int decimalExponent = exponent + droppedDigits - fractionDigits;
+        if (!overflow && significand < MAX_EXACT_SIGNIFICAND
+                && decimalExponent >= -22 && decimalExponent <= 22) {
+            double value = decimalExponent < 0
+                    ? significand / POWERS_OF_TEN[-decimalExponent]
+                    : significand * POWERS_OF_TEN[decimalExponent];
+
+            return GonFloat.of(negative ? -value : value);
+        }
+
+        return GonFloat.of(Double.parseDouble(new String(chars, offset, length)));
+    }
+
+    // Only used for integers with more than 18 digits
+    private static long parseLong(char[] chars, int offset, int length) throws GonParseException {
+        try {
+            return Long.parseLong(new String(chars, offset, length));
+        } catch (NumberFormatException e) {
+            throw new GonParseException("Integer out of range", GonParseException.preview(chars, offset, length), e);
+        }
+    }
+
+    private static long parseHex(char[] chars, int offset, int length) throws GonParseException {
+        // HEX: radix 16, prefixed by "0x"
+        if (length - 2 > 16) throw invalidNumber("Invalid HEX number", chars, offset, length);
+
+        long value = 0;
+        for (int i = offset + 2; i < offset + length; i++) {
+            int digit = hexDigit(chars[i]);
+            if (digit < 0) throw invalidNumber("Invalid HEX number", chars, offset, length);
+
+            value = (value << 4) | digit;
+        }
+
+        return value;
+    }
+
+    private static long parseBinary(char[] chars, int offset, int length) throws GonParseException {
+        // Binary: radix 2, prefixed by "0b"
+        if (length - 2 > 64) throw invalidNumber("Invalid binary number", chars, offset, length);
+
+        long value = 0;
+        for (int i = offset + 2; i < offset + length; i++) {
+            char c = chars[i];
+            if (c != '0' && c != '1') throw invalidNumber("Invalid binary number", chars, offset, length);
+
+            value = (value << 1) | (c - '0');
+        }
+
+        return value;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private static boolean matches(char[] chars, int offset, int length, String literal) {
+        if (length != literal.length()) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != literal.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+    private static GonParseException invalidNumber(String message, char[] chars, int offset, int length) {
+        return new GonParseException(message, GonParseException.preview(chars, offset, length));
+    }
+
+    private static GonParseException unknownValue(char[] chars, int offset, int length) {
+        return new GonUnknownValueException(GonParseException.preview(chars, offset, length));
+    }
+}
@@ -0,0 +1,414 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.GonToken;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+// Lexes UTF-8 encoded bytes in place. Positions are byte offsets.
+final class Utf8Lexer extends GonLexer {
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final ByteBuffer buf;
+    // Only set for accessible heap buffers
+    private final byte[] array;
+    private final int arrayOffset;
+
+    // Position after the byte order mark
+    private final int start;
+    private int pos;
+    private final int limit;
+
+    // Set while the low surrogate of a supplementary code point is the next char.
+    private boolean lowSurrogate;
+    // Byte length of the last decoded multibyte sequence.
+    private int width;
+
+    private byte[] scratch;
+
+    Utf8Lexer(ByteBuffer buffer) {
+        this.buf = buffer.slice();
+        this.array = this.buf.hasArray() ? this.buf.array() : null;
+        this.arrayOffset = this.array != null ? this.buf.arrayOffset() : 0;
+        this.limit = this.buf.limit();
+
+        // Skip the byte order mark
+        if (this.limit >= 3
+                && this.buf.get(0) == (byte) 0xEF
+                && this.buf.get(1) == (byte) 0xBB
+                && this.buf.get(2) == (byte) 0xBF) {
+            this.pos = 3;
+        }
+
+        this.start = this.pos;
+    }
+
+    private Utf8Lexer(Utf8Lexer parent, int from, int to) {
+        this.buf = parent.buf;
+        this.array = parent.array;
+        this.arrayOffset = parent.arrayOffset;
+        this.start = parent.start;
+        this.pos = from;
+        this.limit = to;
+    }
+
+    @Override
+    public int peek() {
+        if (this.pos >= this.limit) return EOF;
+
+        byte b = this.buf.get(this.pos);
+        if (b >= 0) return b;
+
+        int codePoint = this.decode();
+        if (Character.isBmpCodePoint(codePoint)) return codePoint;
+
+        return this.lowSurrogate ? Character.lowSurrogate(codePoint) : Character.highSurrogate(codePoint);
+    }
+
+    @Override
+    public void skip() {
+        if (this.pos >= this.limit) return;
+
+        if (this.buf.get(this.pos) >= 0) {
+            this.pos++;
+            return;
+        }
+
+        int codePoint = this.decode();
+        if (!Character.isBmpCodePoint(codePoint) && !this.lowSurrogate) {
+            this.lowSurrogate = true;
+            return;
+        }
+
+        this.lowSurrogate = false;
+        this.pos += this.width;
+    }
+
+    @Override
+    public long position() {
+        return this.pos;
+    }
+
+    // Columns count code points
+    @Override
+    int[] lineAndColumn() {
+        ByteBuffer buf = this.buf;
+        int line = 1;
+        int lineStart = this.start;
+
+        for (int i = this.start; i < this.pos; i++) {
+            if (buf.get(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+
+        int column = 1;
+        for (int i = lineStart; i < this.pos; i++) {
+            if ((buf.get(i) & 0xC0) != 0x80) column++;
+        }
+
+        return new int[] { line, column };
+    }
+
+    @Override
+    public int skipWhitespace() throws IOException {
+        ByteBuffer buf = this.buf;
+        int limit = this.limit;
+
+        while (true) {
+            int pos = this.pos;
+            while (pos < limit && GonToken.isWhitespace(buf.get(pos))) pos++;
+            this.pos = pos;
+
+            if (pos == limit) return EOF;
+
+            byte b = buf.get(pos);
+            if (b == GonToken.COMMENT_LINE.getToken()) {
+                this.skipComment();
+                continue;
+            }
+
+            if (b >= 0) return b;
+
+            int c = this.peek();
+            if (!GonToken.isWhitespace(c)) return c;
+            this.skip();
+        }
+    }
+
+    @Override
+    protected void skipComment() {
+        ByteBuffer buf = this.buf;
+        int pos = this.pos;
+        int limit = this.limit;
+
+        // '\n' is never part of a multibyte sequence.
+        while (pos < limit && buf.get(pos) != '\n') pos++;
+        this.pos = Math.min(pos + 1, limit);
+    }
+
+    // Structural chars are never part of a multibyte sequence, so the bytes are scanned without decoding them.
+    @Override
+    protected void skipStructure(int depth, boolean untilBreakPoint) throws IOException {
+        ByteBuffer buf = this.buf;
+        int pos = this.pos;
+        int limit = this.limit;
+        this.lowSurrogate = false;
+
+        while (pos < limit) {
+            byte b = buf.get(pos++);
+
+            switch (b) {
+                case '"' -> {
+                    this.pos = pos;
+                    this.skipString();
+                    pos = this.pos;
+                }
+                case '#' -> {
+                    this.pos = pos;
+                    this.skipComment();
+                    pos = this.pos;
+                }
+                case '{' -> depth++;
+                case '}' -> {
+                    if (depth == 0) {
+                        this.pos = pos - 1;
+                        throw unexpectedBodyCloser();
+                    }
+
+                    if (--depth == 0) {
+                        this.pos = pos;
+                        return;
+                    }
+                }
+                case ';' -> {
+                    if (depth == 0 && untilBreakPoint) {
+                        this.pos = pos;
+                        return;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        this.pos = pos;
+        throw unexpectedEndOfStructure(untilBreakPoint);
+    }
+
+    @Override
+    protected void skipString() throws IOException {
+        ByteBuffer buf = this.buf;
+        int pos = this.pos;
+        int limit = this.limit;
+        byte quotes = (byte) GonToken.STRING_QUOTES.getToken();
+        this.lowSurrogate = false;
+
+        while (pos < limit) {
+            byte b = buf.get(pos++);
+
+            if (b == quotes) {
+                this.pos = pos;
+                return;
+            }
+
+            // The rest of an escaped multibyte sequence is never mistaken for a quote
+            if (b == '\\' && pos < limit) pos++;
+        }
+
+        this.pos = pos;
+        throw new GonParseException("Unexpected end of file in string");
+    }
+
+    @Override
+    public String readName() throws IOException {
+        ByteBuffer buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+
+        while (pos < limit && GonToken.isNameChar(buf.get(pos))) pos++;
+        this.pos = pos;
+
+        if (pos == limit || buf.get(pos) >= 0) {
+            if (!this.internsNames()) return this.asciiString(start, pos);
+            return this.name(this.asciiChars(start, pos), 0, pos - start);
+        }
+
+        StringBuilder builder = new StringBuilder(this.asciiString(start, pos));
+        for (int c = this.peek(); GonToken.isNameChar(c); c = this.peek()) {
+            builder.append((char) c);
+            this.skip();
+        }
+
+        return this.name(builder.toString());
+    }
+
+    @Override
+    public String readValue() throws IOException {
+        ByteBuffer buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+
+        while (pos < limit && GonToken.isValueChar(buf.get(pos))) pos++;
+        this.pos = pos;
+
+        if (pos == limit || buf.get(pos) >= 0) return this.asciiString(start, pos);
+
+        StringBuilder builder = new StringBuilder(this.asciiString(start, pos));
+        for (int c = this.peek(); GonToken.isValueChar(c); c = this.peek()) {
+            builder.append((char) c);
+            this.skip();
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public GonValue readScalar() throws IOException {
+        ByteBuffer buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+
+        while (pos < limit && GonToken.isValueChar(buf.get(pos))) pos++;
+        this.pos = pos;
+
+        int length = pos - start;
+        char[] chars = this.asciiChars(start, pos);
+
+        if (pos == limit || buf.get(pos) >= 0) return ScalarParser.parse(chars, 0, length);
+
+        return this.readScalar(chars, 0, length);
+    }
+
+    @Override
+    public String readString() throws IOException {
+        ByteBuffer buf = this.buf;
+        int start = this.pos;
+        int pos = start;
+        int limit = this.limit;
+        byte quotes = (byte) GonToken.STRING_QUOTES.getToken();
+
+        // Neither '"' nor '\' are ever part of a multibyte sequence, so the bytes in between can be decoded at once.
+        while (pos < limit) {
+            byte b = buf.get(pos);
+
+            if (b == quotes) {
+                this.pos = pos + 1;
+                return this.stringValue(start, pos);
+            }
+
+            if (b == '\\') break;
+            pos++;
+        }
+
+        this.pos = pos;
+        return this.readString(new StringBuilder(this.utf8String(start, pos)));
+    }
+
+    @Override
+    public boolean isSliceable() {
+        return true;
+    }
+
+    @Override
+    public GonLexer slice(long from, long to) {
+        Objects.checkFromToIndex(from, to, this.buf.limit());
+        return new Utf8Lexer(this, (int) from, (int) to);
+    }
+
+    private int decode() {
+        ByteBuffer buf = this.buf;
+        int pos = this.pos;
+        int b0 = buf.get(pos) & 0xFF;
+
+        int length;
+        int codePoint;
+        if ((b0 & 0xE0) == 0xC0) {
+            length = 2;
+            codePoint = b0 & 0x1F;
+        } else if ((b0 & 0xF0) == 0xE0) {
+            length = 3;
+            codePoint = b0 & 0x0F;
+        } else if ((b0 & 0xF8) == 0xF0) {
+            length = 4;
+            codePoint = b0 & 0x07;
+        } else {
+            this.width = 1;
+            return REPLACEMENT;
+        }
+
+        if (pos + length > this.limit) {
+            this.width = 1;
+            return REPLACEMENT;
+        }
+
+        for (int i = 1; i < length; i++) {
+            int b = buf.get(pos + i) & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                this.width = i;
+                return REPLACEMENT;
+            }
+
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+
+        this.width = length;
+        return codePoint;
+    }
+
+    private String stringValue(int from, int to) {
+        if (!this.internsStrings(to - from)) return this.utf8String(from, to);
+
+        for (int i = from; i < to; i++) {
+            if (this.buf.get(i) < 0) return this.string(this.utf8String(from, to));
+        }
+
+        return this.string(this.asciiChars(from, to), 0, to - from);
+    }
+
+    private char[] asciiChars(int from, int to) {
+        char[] chars = this.valueChars(to - from);
+        for (int i = from; i < to; i++) {
+            chars[i - from] = (char) this.buf.get(i);
+        }
+
+        return chars;
+    }
+
+    private String asciiString(int from, int to) {
+        if (this.array != null)
+            return new String(this.array, this.arrayOffset + from, to - from, StandardCharsets.ISO_8859_1);
+
+        return new String(this.copy(from, to), 0, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    private String utf8String(int from, int to) {
+        if (this.array != null)
+            return new String(this.array, this.arrayOffset + from, to - from, StandardCharsets.UTF_8);
+
+        return new String(this.copy(from, to), 0, to - from, StandardCharsets.UTF_8);
+    }
+
+    private byte[] copy(int from, int to) {
+        int length = to - from;
+        if (this.scratch == null || this.scratch.length < length)
+            this.scratch = new byte[Math.max(length, 64)];
+
+        this.buf.get(from, this.scratch, 0, length);
+        return this.scratch;
+    }
+
+    @Override
+    public void close() {
+        this.pos = this.limit;
+    }
+}
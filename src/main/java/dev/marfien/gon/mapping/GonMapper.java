@@ -0,0 +1,227 @@
+package dev.marfien.gon.mapping;
+
+import dev.marfien.gon.io.GonEvent;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.EmptyGonObject;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.IOException;
+import java.util.*;
+
+// Binds records and POJOs to GON objects. Scalars (numbers, booleans, strings, enums and GonValue) map to attributes
+// or nested objects with a value, other types to nested objects and lists to nested objects with one object per
+// element in their body. Properties are matched by name, unknown ones are ignored.
+// The accessors of each type are looked up once and cached. Thread safe.
+public class GonMapper {
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final GonValue[] NO_VALUES = new GonValue[0];
+
+    private final ClassValue<ObjectCodec> codecs = new ClassValue<>() {
+        @Override
+        protected ObjectCodec computeValue(Class<?> type) {
+            return ObjectCodec.create(type);
+        }
+    };
+
+    public <T> T read(GonObject object, Class<T> type) {
+        return type.cast(this.read(object, this.codecs.get(type)));
+    }
+
+    // Binds the next object of the reader without creating GonObjects in between. Returns null at the end of the document.
+    public <T> T read(GonReader reader, Class<T> type) throws IOException {
+        GonEvent event = reader.nextEvent();
+        if (event == GonEvent.END_DOCUMENT) return null;
+        if (event != GonEvent.START_OBJECT) throw new IllegalStateException("Expected the start of an object but got " + event);
+
+        return type.cast(this.readObject(reader, this.codecs.get(type)));
+    }
+
+    public GonObject write(Object value) {
+        return this.write(null, value);
+    }
+
+    public GonObject write(String name, Object value) {
+        ObjectCodec codec = this.codecs.get(value.getClass());
+
+        List<String> keys = new ArrayList<>();
+        List<GonValue> values = new ArrayList<>();
+        List<GonObject> nestedObjects = new ArrayList<>();
+
+        for (ObjectCodec.Property property : codec.properties()) {
+            Object propertyValue = codec.get(value, property);
+            if (propertyValue == null) continue;
+
+            switch (property.kind) {
+                case SCALAR -> {
+                    keys.add(property.name);
+                    values.add(property.converter.toGon(propertyValue));
+                }
+                case OBJECT -> nestedObjects.add(this.write(property.name, propertyValue));
+                case LIST -> {
+                    List<?> list = (List<?>) propertyValue;
+                    GonObject[] elements = new GonObject[list.size()];
+
+                    for (int i = 0; i < elements.length; i++) {
+                        Object element = list.get(i);
+                        elements[i] = property.converter != null
+                                ? new SingleValueGonObject(null, null, NO_KEYS, NO_VALUES, property.converter.toGon(element))
+                                : this.write(null, element);
+                    }
+
+                    nestedObjects.add(new NestedGonObject(property.name, null, NO_KEYS, NO_VALUES, elements));
+                }
+            }
+        }
+
+        String[] keyArray = keys.toArray(NO_KEYS);
+        GonValue[] valueArray = values.toArray(NO_VALUES);
+        if (nestedObjects.isEmpty()) return new EmptyGonObject(name, null, keyArray, valueArray);
+
+        return new NestedGonObject(name, null, keyArray, valueArray, nestedObjects.toArray(new GonObject[0]));
+    }
+
+    private Object read(GonObject object, ObjectCodec codec) {
+        Object builder = codec.newBuilder();
+
+        for (Map.Entry<String, GonValue> attribute : object.getAttributes().entrySet()) {
+            ObjectCodec.Property property = codec.property(attribute.getKey());
+            if (property != null && property.kind == ObjectCodec.Kind.SCALAR)
+                codec.set(builder, property, property.converter.fromGon(attribute.getValue()));
+        }
+
+        if (object instanceof NestedGonObject nested) {
+            for (GonObject nestedObject : nested.getNestedObjects()) {
+                ObjectCodec.Property property = nestedObject.getName().map(codec::property).orElse(null);
+                if (property != null) codec.set(builder, property, this.readProperty(nestedObject, property));
+            }
+        }
+
+        return codec.build(builder);
+    }
+
+    private Object readProperty(GonObject object, ObjectCodec.Property property) {
+        return switch (property.kind) {
+            case SCALAR -> property.converter.fromGon(value(object));
+            case OBJECT -> this.read(object, this.codecs.get(property.objectType));
+            case LIST -> {
+                if (!(object instanceof NestedGonObject nested)) yield List.of();
+
+                List<Object> list = new ArrayList<>(nested.getNestedObjects().size());
+                for (GonObject element : nested.getNestedObjects()) {
+                    list.add(property.converter != null
+                            ? property.converter.fromGon(value(element))
+                            : this.read(element, this.codecs.get(property.objectType)));
+                }
+
+                yield Collections.unmodifiableList(list);
+            }
+        };
+    }
+
+    private static GonValue value(GonObject object) {
+        return object instanceof SingleValueGonObject singleValue ? singleValue.getValue() : null;
+    }
+
+    // Called after the START_OBJECT event. Consumes the END_OBJECT event.
+    private Object readObject(GonReader reader, ObjectCodec codec) throws IOException {
+        Object builder = codec.newBuilder();
+
+        while (true) {
+            switch (reader.nextEvent()) {
+                case ATTRIBUTE, FLAG -> {
+                    ObjectCodec.Property property = codec.property(reader.getText());
+                    if (property != null && property.kind == ObjectCodec.Kind.SCALAR)
+                        codec.set(builder, property, property.converter.fromGon(reader.getValue()));
+                }
+                case START_BODY -> this.readBody(reader, codec, builder);
+                case END_OBJECT -> {
+                    return codec.build(builder);
+                }
+                default -> {
+                    // Names, classes and values of the object itself are not bound
+                }
+            }
+        }
+    }
+
+    // Consumes the END_BODY event.
+    private void readBody(GonReader reader, ObjectCodec codec, Object builder) throws IOException {
+        while (reader.nextEvent() != GonEvent.END_BODY) {
+            // Only named objects can be properties
+            GonEvent event = reader.nextEvent();
+            if (event != GonEvent.NAME) {
+                skipRest(reader, event);
+                continue;
+            }
+
+            ObjectCodec.Property property = codec.property(reader.getText());
+            if (property == null) {
+                reader.skipObject();
+                continue;
+            }
+
+            Object value = switch (property.kind) {
+                case SCALAR -> property.converter.fromGon(readValue(reader));
+                case OBJECT -> this.readObject(reader, this.codecs.get(property.objectType));
+                case LIST -> this.readList(reader, property);
+            };
+
+            codec.set(builder, property, value);
+        }
+    }
+
+    private List<Object> readList(GonReader reader, ObjectCodec.Property property) throws IOException {
+        List<Object> list = new ArrayList<>();
+        ObjectCodec elementCodec = property.converter == null ? this.codecs.get(property.objectType) : null;
+
+        GonEvent event;
+        do {
+            event = reader.nextEvent();
+        } while (event != GonEvent.START_BODY && event != GonEvent.END_OBJECT);
+
+        if (event == GonEvent.START_BODY) {
+            while (reader.nextEvent() != GonEvent.END_BODY) {
+                list.add(elementCodec == null
+                        ? property.converter.fromGon(readValue(reader))
+                        : this.readObject(reader, elementCodec));
+            }
+
+            reader.nextEvent(); // END_OBJECT
+        }
+
+        return Collections.unmodifiableList(list);
+    }
+
+    private static void skipRest(GonReader reader, GonEvent event) throws IOException {
+        switch (event) {
+            case END_OBJECT -> {
+            }
+            case START_BODY -> {
+                reader.skipBody();
+                reader.nextEvent(); // END_OBJECT
+            }
+            default -> reader.skipObject();
+        }
+    }
+
+    // Returns the value of the current object and consumes its END_OBJECT event. Bodies are skipped.
+    private static GonValue readValue(GonReader reader) throws IOException {
+        GonValue value = null;
+
+        while (true) {
+            switch (reader.nextEvent()) {
+                case VALUE -> value = reader.getValue();
+                case START_BODY -> reader.skipBody();
+                case END_OBJECT -> {
+                    return value;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package dev.marfien.gon.mapping;
+
+import dev.marfien.gon.exception.GonMappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+
+// Creates and accesses instances of a record or POJO through method handles that are looked up once.
+final class ObjectCodec {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final Property[] properties;
+    private final Map<String, Property> byName;
+
+    // (Object[]) -> Object for records, () -> Object for POJOs
+    private final MethodHandle constructor;
+    // Values of missing record components
+    private final Object[] defaults;
+
+    private ObjectCodec(Class<?> type, Property[] properties, MethodHandle constructor, Object[] defaults) {
+        this.type = type;
+        this.properties = properties;
+        this.constructor = constructor;
+        this.defaults = defaults;
+
+        this.byName = new HashMap<>();
+        for (Property property : properties) {
+            this.byName.put(property.name, property);
+        }
+    }
+
+    static ObjectCodec create(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || Modifier.isAbstract(type.getModifiers()))
+            throw new GonMappingException("Cannot map " + type);
+
+        try {
+            return type.isRecord() ? forRecord(type) : forPojo(type);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (e instanceof GonMappingException mappingException) throw mappingException;
+            throw new GonMappingException("Cannot map " + type, e);
+        }
+    }
+
+    private static ObjectCodec forRecord(Class<?> type) throws ReflectiveOperationException {
+        RecordComponent[] components = type.getRecordComponents();
+        Property[] properties = new Property[components.length];
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        Object[] defaults = new Object[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            Method accessor = component.getAccessor();
+            accessor.setAccessible(true);
+
+            parameterTypes[i] = component.getType();
+            defaults[i] = defaultValue(component.getType());
+            properties[i] = Property.of(i, component.getName(), component.getType(), component.getGenericType(),
+                    LOOKUP.unreflect(accessor).asType(GETTER), null);
+        }
+
+        Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+        constructor.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        return new ObjectCodec(type, properties, handle, defaults);
+    }
+
+    private static ObjectCodec forPojo(Class<?> type) throws ReflectiveOperationException {
+        List<Property> properties = new ArrayList<>();
+
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic())
+                    continue;
+
+                field.setAccessible(true);
+                properties.add(Property.of(properties.size(), field.getName(), field.getType(), field.getGenericType(),
+                        LOOKUP.unreflectGetter(field).asType(GETTER), LOOKUP.unreflectSetter(field).asType(SETTER)));
+            }
+        }
+
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+
+        return new ObjectCodec(type, properties.toArray(new Property[0]), handle, null);
+    }
+
+    Class<?> type() {
+        return this.type;
+    }
+
+    Property[] properties() {
+        return this.properties;
+    }
+
+    Property property(String name) {
+        return this.byName.get(name);
+    }
+
+    // Holds the values until build(Object) is called. An Object[] for records and the instance itself for POJOs.
+    Object newBuilder() {
+        if (this.defaults != null) return this.defaults.clone();
+
+        try {
+            return (Object) this.constructor.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(this.type, t);
+        }
+    }
+
+    void set(Object builder, Property property, Object value) {
+        if (this.defaults != null) {
+            ((Object[]) builder)[property.index] = value;
+            return;
+        }
+
+        try {
+            property.setter.invokeExact(builder, value);
+        } catch (Throwable t) {
+            throw rethrow(this.type, t);
+        }
+    }
+
+    Object build(Object builder) {
+        if (this.defaults == null) return builder;
+
+        try {
+            return (Object) this.constructor.invokeExact((Object[]) builder);
+        } catch (Throwable t) {
+            throw rethrow(this.type, t);
+        }
+    }
+
+    Object get(Object instance, Property property) {
+        try {
+            return (Object) property.getter.invokeExact(instance);
+        } catch (Throwable t) {
+            throw rethrow(this.type, t);
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static RuntimeException rethrow(Class<?> type, Throwable t) {
+        if (t instanceof RuntimeException e) return e;
+        if (t instanceof Error e) throw e;
+        return new GonMappingException("Cannot access " + type, t);
+    }
+
+    enum Kind {
+        // Attribute or nested object with a value
+        SCALAR,
+        // Nested object
+        OBJECT,
+        // Nested object with the elements in its body
+        LIST
+    }
+
+    static final class Property {
+
+        final int index;
+        final String name;
+        final Kind kind;
+        // Of the value or the elements of lists of scalars
+        final ValueConverter converter;
+        // Of nested objects or the elements of lists of objects
+        final Class<?> objectType;
+
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Property(int index, String name, Kind kind, ValueConverter converter, Class<?> objectType,
+                         MethodHandle getter, MethodHandle setter) {
+            this.index = index;
+            this.name = name;
+            this.kind = kind;
+            this.converter = converter;
+            this.objectType = objectType;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private static Property of(int index, String name, Class<?> type, Type genericType, MethodHandle getter, MethodHandle setter) {
+            ValueConverter converter = ValueConverter.of(type);
+            if (converter != null) return new Property(index, name, Kind.SCALAR, converter, null, getter, setter);
+
+            if (type == List.class) {
+                if (!(genericType instanceof ParameterizedType parameterized)
+                        || !(parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType))
+                    throw new GonMappingException("Lists need a concrete element type: " + name);
+
+                ValueConverter elementConverter = ValueConverter.of(elementType);
+                return new Property(index, name, Kind.LIST, elementConverter, elementConverter == null ? elementType : null, getter, setter);
+            }
+
+            return new Property(index, name, Kind.OBJECT, null, type, getter, setter);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.marfien.gon.mapping;
+
+import dev.marfien.gon.exception.GonMappingException;
+import dev.marfien.gon.value.*;
+
+import java.util.function.Function;
+
+// Converts between a Java type and GON values. Selected once per property.
+final class ValueConverter {
+
+    private final Class<?> type;
+    private final Function<GonValue, Object> fromGon;
+    private final Function<Object, GonValue> toGon;
+
+    private ValueConverter(Class<?> type, Function<GonValue, Object> fromGon, Function<Object, GonValue> toGon) {
+        this.type = type;
+        this.fromGon = fromGon;
+        this.toGon = toGon;
+    }
+
+    // Null if the type is not a scalar
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static ValueConverter of(Class<?> type) {
+        if (type == long.class || type == Long.class)
+            return new ValueConverter(type, value -> asLong(value, type), value -> GonInt.of((Long) value));
+        if (type == int.class || type == Integer.class)
+            return new ValueConverter(type, value -> toInt(asLong(value, type), type), value -> GonInt.of((Integer) value));
+        if (type == short.class || type == Short.class)
+            return new ValueConverter(type, value -> (short) toRange(asLong(value, type), Short.MIN_VALUE, Short.MAX_VALUE, type),
+                    value -> GonInt.of((Short) value));
+        if (type == byte.class || type == Byte.class)
+            return new ValueConverter(type, value -> (byte) toRange(asLong(value, type), Byte.MIN_VALUE, Byte.MAX_VALUE, type),
+                    value -> GonInt.of((Byte) value));
+        if (type == double.class || type == Double.class)
+            return new ValueConverter(type, value -> asDouble(value, type), value -> GonFloat.of((Double) value));
+        if (type == float.class || type == Float.class)
+            return new ValueConverter(type, value -> (float) asDouble(value, type), value -> GonFloat.of((Float) value));
+        if (type == boolean.class || type == Boolean.class)
+            return new ValueConverter(type, value -> cast(value, GonBoolean.class, type).getAsBoolean(),
+                    value -> (Boolean) value ? GonValue.TRUE : GonValue.FALSE);
+        if (type == String.class)
+            return new ValueConverter(type, value -> cast(value, GonString.class, type).get(), value -> new GonString((String) value));
+        if (type.isEnum())
+            return new ValueConverter(type, value -> Enum.valueOf((Class) type, cast(value, GonString.class, type).get()),
+                    value -> new GonString(((Enum<?>) value).name()));
+        if (type == GonValue.class)
+            return new ValueConverter(type, value -> value, value -> (GonValue) value);
+
+        return null;
+    }
+
+    // Missing values and null are null for reference types
+    Object fromGon(GonValue value) {
+        if (value == null || value == GonValue.NULL) {
+            if (this.type.isPrimitive()) throw new GonMappingException("Cannot map null to " + this.type);
+            return this.type == GonValue.class ? GonValue.NULL : null;
+        }
+
+        return this.fromGon.apply(value);
+    }
+
+    GonValue toGon(Object value) {
+        return value == null ? GonValue.NULL : this.toGon.apply(value);
+    }
+
+    private static long asLong(GonValue value, Class<?> type) {
+        return cast(value, GonInt.class, type).getAsLong();
+    }
+
+    private static double asDouble(GonValue value, Class<?> type) {
+        // Integers are widened
+        if (value instanceof GonInt i) return i.getAsLong();
+        return cast(value, GonFloat.class, type).getAsDouble();
+    }
+
+    private static int toInt(long value, Class<?> type) {
+        return (int) toRange(value, Integer.MIN_VALUE, Integer.MAX_VALUE, type);
+    }
+
+    private static long toRange(long value, long min, long max, Class<?> type) {
+        if (value < min || value > max) throw new GonMappingException("Value %d is out of range for %s".formatted(value, type));
+        return value;
+    }
+
+    private static <V extends GonValue> V cast(GonValue value, Class<V> valueType, Class<?> type) {
+        if (!valueType.isInstance(value)) throw new GonMappingException("Cannot map %s to %s".formatted(value, type));
+        return valueType.cast(value);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.marfien.gon.object;
+
+import dev.marfien.gon.value.GonValue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Secondary indexes over the nested objects of a body. Each maps a class, attribute key or attribute value
+// to the ascending positions of the objects having it.
+final class ChildIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final GonObject[] objects;
+
+    private final Map<String, int[]> byClass;
+    private final Map<String, int[]> byAttribute;
+    // Built per attribute key on its first lookup
+    private final Map<String, Map<GonValue, int[]>> byAttributeValue = new ConcurrentHashMap<>();
+
+    ChildIndex(GonObject[] objects) {
+        this.objects = objects;
+
+        Map<String, Positions> byClass = new HashMap<>();
+        Map<String, Positions> byAttribute = new HashMap<>();
+        for (int i = 0; i < objects.length; i++) {
+            GonObject object = objects[i];
+            byClass.computeIfAbsent(object.clazz(), clazz -> new Positions()).add(i);
+
+            for (String key : object.attributeKeys()) {
+                byAttribute.computeIfAbsent(key, k -> new Positions()).add(i);
+            }
+        }
+
+        this.byClass = toArrays(byClass);
+        this.byAttribute = toArrays(byAttribute);
+    }
+
+    // Objects without a class are found with null.
+    int[] byClass(String clazz) {
+        return this.byClass.getOrDefault(clazz, NONE);
+    }
+
+    int[] byAttribute(String key) {
+        return this.byAttribute.getOrDefault(key, NONE);
+    }
+
+    int[] byAttributeValue(String key, GonValue value) {
+        return this.byAttributeValue.computeIfAbsent(key, this::buildValueIndex).getOrDefault(value, NONE);
+    }
+
+    // Positions in both ascending lists
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private Map<GonValue, int[]> buildValueIndex(String key) {
+        Map<GonValue, Positions> byValue = new HashMap<>();
+        for (int i : this.byAttribute(key)) {
+            byValue.computeIfAbsent(this.objects[i].attribute(key), value -> new Positions()).add(i);
+        }
+
+        return toArrays(byValue);
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, Positions> positions) {
+        Map<K, int[]> result = new HashMap<>((int) (positions.size() / 0.75f) + 1);
+        for (Map.Entry<K, Positions> entry : positions.entrySet()) {
+            Positions value = entry.getValue();
+            result.put(entry.getKey(), Arrays.copyOf(value.positions, value.size));
+        }
+
+        return result;
+    }
+
+    private static final class Positions {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int position) {
+            if (this.size == this.positions.length) this.positions = Arrays.copyOf(this.positions, this.size * 2);
+            this.positions[this.size++] = position;
+        }
+    }
+}
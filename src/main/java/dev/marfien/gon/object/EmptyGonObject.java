@@ -9,4 +9,25 @@ public class EmptyGonObject extends GonObject {
     public EmptyGonObject(String name, String clazz, Map<String, GonValue> attributes) {
         super(name, clazz, attributes);
     }
+
+    // Copies the arrays
+    public EmptyGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues) {
+        super(name, clazz, attributeKeys, attributeValues);
+    }
+
+    // Takes over the arrays
+    EmptyGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, boolean shared) {
+        super(name, clazz, attributeKeys, attributeValues, shared);
+    }
+
+    @Override
+    protected EmptyGonObject withAttributes(String[] keys, GonValue[] values) {
+        return new EmptyGonObject(this.name(), this.clazz(), keys, values, true);
+    }
+
+    // Gets a body with the object
+    @Override
+    protected NestedGonObject putNestedObject(GonObject object) {
+        return new NestedGonObject(this.name(), this.clazz(), this.attributeKeys(), this.attributeValues(), new GonObject[] { object }, true);
+    }
 }
@@ -0,0 +1,207 @@
+package dev.marfien.gon.object;
+
+import dev.marfien.gon.value.GonValue;
+
+import java.util.*;
+
+// Merges layers of objects, e.g. a base configuration with environment and host overrides. The object of the later
+// layer overrides the one of the earlier layer. Everything that is not changed is shared with the layers.
+public class GonMerger {
+
+    public enum Strategy {
+        // The overriding object replaces the base object
+        REPLACE,
+        // Attributes are united and nested objects of the same name are merged recursively. Others are appended.
+        DEEP_MERGE,
+        // Attributes are united and nested objects replace those of the same name. Others are appended.
+        APPEND_CHILDREN,
+        // Attributes are united and the value or body of the overriding object replaces that of the base object
+        ATTRIBUTE_UNION
+    }
+
+    private final Strategy strategy;
+    private final Map<String, Strategy> strategiesByClass = new HashMap<>();
+
+    public GonMerger() {
+        this(Strategy.DEEP_MERGE);
+    }
+
+    public GonMerger(Strategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy, "Strategy must not be null.");
+    }
+
+    // Merges objects of the class with another strategy. The class of the overriding object takes precedence.
+    public GonMerger withStrategy(String clazz, Strategy strategy) {
+        this.strategiesByClass.put(Objects.requireNonNull(clazz), Objects.requireNonNull(strategy));
+        return this;
+    }
+
+    public GonObject merge(GonObject base, GonObject override) {
+        return this.merge(base, override, false);
+    }
+
+    // Merges the layers from first to last.
+    public GonObject merge(List<? extends GonObject> layers) {
+        return this.merge(layers, false);
+    }
+
+    // Like merge(), but deeply merged bodies are only merged when their nested objects are first accessed.
+    // Unaccessed parts of the tree are never copied.
+    public GonObject overlay(GonObject base, GonObject override) {
+        return this.merge(base, override, true);
+    }
+
+    public GonObject overlay(List<? extends GonObject> layers) {
+        return this.merge(layers, true);
+    }
+
+    private GonObject merge(List<? extends GonObject> layers, boolean lazy) {
+        if (layers.isEmpty()) throw new IllegalArgumentException("There must be at least one layer.");
+
+        GonObject result = layers.get(0);
+        for (int i = 1; i < layers.size(); i++) {
+            result = this.merge(result, layers.get(i), lazy);
+        }
+
+        return result;
+    }
+
+    private GonObject merge(GonObject base, GonObject override, boolean lazy) {
+        if (base == override) return base;
+
+        Strategy strategy = this.strategy(base, override);
+        if (strategy == Strategy.REPLACE) return override;
+
+        String name = override.name() != null ? override.name() : base.name();
+        String clazz = override.clazz() != null ? override.clazz() : base.clazz();
+
+        Attributes attributes = unite(base, override);
+        String[] keys = attributes.keys();
+        GonValue[] values = attributes.values();
+
+        if (override instanceof SingleValueGonObject single)
+            return new SingleValueGonObject(name, clazz, keys, values, single.getValue(), true);
+
+        if (override instanceof NestedGonObject nested) {
+            if (strategy == Strategy.ATTRIBUTE_UNION || !(base instanceof NestedGonObject nestedBase))
+                return nested.copy(name, clazz, keys, values, nested.nestedObjects());
+
+            boolean deep = strategy == Strategy.DEEP_MERGE;
+            if (lazy && deep) return new OverlayGonObject(this, name, clazz, keys, values, nestedBase, nested);
+
+            GonObject[] nestedObjects = this.mergeBodies(nestedBase, nested, deep, false);
+
+            // Without appended objects the names stay at their positions and the index is shared
+            if (nestedObjects.length == nestedBase.nestedObjects().length) return nestedBase.copy(name, clazz, keys, values, nestedObjects);
+            return new NestedGonObject(name, clazz, keys, values, nestedObjects, true);
+        }
+
+        // Without value or body of its own the override only changes the header of the base
+        if (Objects.equals(name, base.name()) && Objects.equals(clazz, base.clazz()) && keys == base.attributeKeys()
+                && values == base.attributeValues()) return base;
+
+        if (base instanceof SingleValueGonObject single) return new SingleValueGonObject(name, clazz, keys, values, single.getValue(), true);
+        if (base instanceof NestedGonObject nested) return nested.copy(name, clazz, keys, values, nested.nestedObjects());
+
+        return new EmptyGonObject(name, clazz, keys, values, true);
+    }
+
+    // Single pass over the nested objects of the override, which are looked up in the name index of the base.
+    // The merged objects of the base keep their positions.
+    private GonObject[] mergeBodies(NestedGonObject base, NestedGonObject override, boolean deep, boolean lazy) {
+        GonObject[] baseObjects = base.nestedObjects();
+        GonObject[] result = baseObjects;
+        int count = baseObjects.length;
+
+        for (GonObject object : override.nestedObjects()) {
+            int position = object.name() == null ? -1 : base.position(object.name());
+
+            if (position < 0) {
+                if (count == result.length) result = Arrays.copyOf(result, Math.max(count * 2, count + 4));
+                result[count++] = object;
+                continue;
+            }
+
+            GonObject merged = deep ? this.merge(baseObjects[position], object, lazy) : object;
+            if (merged == baseObjects[position]) continue;
+
+            if (result == baseObjects) result = baseObjects.clone();
+            result[position] = merged;
+        }
+
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private Strategy strategy(GonObject base, GonObject override) {
+        if (this.strategiesByClass.isEmpty()) return this.strategy;
+
+        Strategy strategy = override.clazz() != null ? this.strategiesByClass.get(override.clazz()) : null;
+        if (strategy == null && base.clazz() != null) strategy = this.strategiesByClass.get(base.clazz());
+
+        return strategy != null ? strategy : this.strategy;
+    }
+
+    // Attributes of the override replace those of the base in place or are appended. Arrays are only copied on change.
+    private static Attributes unite(GonObject base, GonObject override) {
+        String[] baseKeys = base.attributeKeys();
+        GonValue[] baseValues = base.attributeValues();
+        String[] overrideKeys = override.attributeKeys();
+        GonValue[] overrideValues = override.attributeValues();
+
+        if (overrideKeys.length == 0) return new Attributes(baseKeys, baseValues);
+        if (baseKeys.length == 0) return new Attributes(overrideKeys, overrideValues);
+
+        String[] keys = baseKeys;
+        GonValue[] values = baseValues;
+        int count = baseKeys.length;
+
+        for (int i = 0; i < overrideKeys.length; i++) {
+            GonValue value = overrideValues[i];
+            int position = base.attributePosition(overrideKeys[i]);
+
+            if (position < 0) {
+                if (keys == baseKeys) keys = Arrays.copyOf(baseKeys, baseKeys.length + overrideKeys.length);
+                if (values == baseValues || values.length < keys.length) values = Arrays.copyOf(values, keys.length);
+
+                keys[count] = overrideKeys[i];
+                values[count++] = value;
+            } else if (!baseValues[position].equals(value)) {
+                if (values == baseValues) values = baseValues.clone();
+                values[position] = value;
+            }
+        }
+
+        if (keys == baseKeys) return new Attributes(keys, values);
+        return new Attributes(Arrays.copyOf(keys, count), Arrays.copyOf(values, count));
+    }
+
+    private record Attributes(String[] keys, GonValue[] values) {}
+
+    // Merges the bodies when its nested objects are first accessed
+    private static final class OverlayGonObject extends NestedGonObject {
+
+        private GonMerger merger;
+        private NestedGonObject base;
+        private NestedGonObject override;
+
+        private OverlayGonObject(GonMerger merger, String name, String clazz, String[] keys, GonValue[] values,
+                                 NestedGonObject base, NestedGonObject override) {
+            super(name, clazz, keys, values);
+            this.merger = merger;
+            this.base = base;
+            this.override = override;
+        }
+
+        @Override
+        protected GonObject[] loadNestedObjects() {
+            GonObject[] merged = this.merger.mergeBodies(this.base, this.override, true, true);
+
+            // The layers are not needed anymore
+            this.merger = null;
+            this.base = null;
+            this.override = null;
+
+            return merged;
+        }
+    }
+}
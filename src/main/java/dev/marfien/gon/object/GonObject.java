@@ -1,21 +1,77 @@
 package dev.marfien.gon.object;
 
+import dev.marfien.gon.value.GonBoolean;
+import dev.marfien.gon.value.GonFloat;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonString;
 import dev.marfien.gon.value.GonValue;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.UnaryOperator;
 
 public abstract class GonObject {
 
+    static final String[] NO_KEYS = new String[0];
+    static final GonValue[] NO_VALUES = new GonValue[0];
+
     private final String name;
     private final String clazz;
 
+    // Attributes in parallel arrays, in order of declaration
+    private final String[] attributeKeys;
+    private final GonValue[] attributeValues;
+
+    // Built on the first lookup in large headers
+    private volatile int[] attributeIndex;
     private Map<String, GonValue> attributes;
 
     protected GonObject(String name, String clazz, Map<String, GonValue> attributes) {
         this.name = name;
         this.clazz = clazz;
-        this.attributes = Map.copyOf(attributes);
+
+        int size = attributes.size();
+        this.attributeKeys = size == 0 ? NO_KEYS : new String[size];
+        this.attributeValues = size == 0 ? NO_VALUES : new GonValue[size];
+
+        int i = 0;
+        for (Map.Entry<String, GonValue> attribute : attributes.entrySet()) {
+            this.attributeKeys[i] = Objects.requireNonNull(attribute.getKey());
+            this.attributeValues[i++] = Objects.requireNonNull(attribute.getValue());
+        }
+    }
+
+    // Copies the arrays. Throws an IllegalArgumentException if a key is declared twice.
+    protected GonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues) {
+        this(name, clazz, attributeKeys.clone(), attributeValues.clone(), true);
+
+        String[] keys = this.attributeKeys;
+        for (int i = 0; i < keys.length; i++) {
+            Objects.requireNonNull(keys[i], "Attribute keys must not be null.");
+            Objects.requireNonNull(this.attributeValues[i], "Attribute values must not be null.");
+        }
+
+        if (keys.length > NameIndex.THRESHOLD) {
+            this.attributeIndex = NameIndex.build(keys, keys.length);
+            return;
+        }
+
+        for (int i = 1; i < keys.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (keys[i].equals(keys[j])) throw NameIndex.duplicateKey(keys[i]);
+            }
+        }
+    }
+
+    // Takes over the arrays, which must neither contain nulls or duplicate keys nor be modified afterwards.
+    // For the object types of this package, whose updates build the arrays themselves.
+    GonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, boolean shared) {
+        if (attributeKeys.length != attributeValues.length)
+            throw new IllegalArgumentException("Attribute keys and values differ in length.");
+
+        this.name = name;
+        this.clazz = clazz;
+        this.attributeKeys = attributeKeys.length == 0 ? NO_KEYS : attributeKeys;
+        this.attributeValues = attributeValues.length == 0 ? NO_VALUES : attributeValues;
     }
 
     public final Optional<String> getName() {
@@ -27,6 +83,238 @@ public abstract class GonObject {
     }
 
     public final Map<String, GonValue> getAttributes() {
-        return this.attributes;
+        Map<String, GonValue> attributes = this.attributes;
+        if (attributes == null) this.attributes = attributes = new AttributeMap();
+
+        return attributes;
+    }
+
+    // Typed lookups return the default if the attribute is missing or of another type.
+
+    public final long getLong(String key, long defaultValue) {
+        return this.attribute(key) instanceof GonInt i ? i.getAsLong() : defaultValue;
+    }
+
+    // Integers are widened
+    public final double getDouble(String key, double defaultValue) {
+        GonValue value = this.attribute(key);
+        if (value instanceof GonFloat f) return f.getAsDouble();
+        if (value instanceof GonInt i) return i.getAsLong();
+
+        return defaultValue;
+    }
+
+    public final boolean getBoolean(String key, boolean defaultValue) {
+        return this.attribute(key) instanceof GonBoolean b ? b.getAsBoolean() : defaultValue;
+    }
+
+    public final String getString(String key, String defaultValue) {
+        return this.attribute(key) instanceof GonString s ? s.get() : defaultValue;
+    }
+
+    // Persistent updates return a copy that shares everything but the changed parts with this object.
+    // Unchanged objects are returned as they are.
+
+    // Replaces the value of the attribute or appends it.
+    public GonObject withAttribute(String key, GonValue value) {
+        Objects.requireNonNull(key, "Key must not be null.");
+        Objects.requireNonNull(value, "Value must not be null.");
+
+        int i = this.attributePosition(key);
+        String[] keys = this.attributeKeys;
+        GonValue[] values;
+
+        if (i >= 0) {
+            if (this.attributeValues[i].equals(value)) return this;
+            values = this.attributeValues.clone();
+        } else {
+            i = keys.length;
+            keys = Arrays.copyOf(keys, i + 1);
+            keys[i] = key;
+            values = Arrays.copyOf(this.attributeValues, i + 1);
+        }
+
+        values[i] = value;
+        return this.withAttributes(keys, values);
+    }
+
+    public GonObject withoutAttribute(String key) {
+        int i = this.attributePosition(key);
+        if (i < 0) return this;
+
+        return this.withAttributes(remove(this.attributeKeys, i), remove(this.attributeValues, i));
+    }
+
+    // The segments of the path are names of nested objects separated by '/'. The last one names the attribute or
+    // the nested object with a single value that is set. Missing nested objects on the way are created.
+    public final GonObject with(String path, GonValue value) {
+        Objects.requireNonNull(value, "Value must not be null.");
+
+        return this.update(segments(path), 0, true, parent -> {
+            String key = segmentName(path);
+            GonObject nestedObject = parent instanceof NestedGonObject nested ? nested.byKey(key) : null;
+
+            if (nestedObject == null) return parent.withAttribute(key, value);
+            if (nestedObject instanceof SingleValueGonObject single) return parent.putNestedObject(single.withValue(value));
+
+            throw new IllegalArgumentException("The nested object '%s' has no single value.".formatted(path));
+        });
+    }
+
+    // Replaces the nested object at the path, whose last segment must be the name of the object, or appends it.
+    public final GonObject with(String path, GonObject object) {
+        if (!segmentName(path).equals(object.name()))
+            throw new IllegalArgumentException("The object is not named like the last segment of '%s'.".formatted(path));
+
+        return this.update(segments(path), 0, true, parent -> parent.putNestedObject(object));
+    }
+
+    // Removes the nested object or else the attribute at the path.
+    public final GonObject without(String path) {
+        return this.update(segments(path), 0, false, parent -> {
+            String key = segmentName(path);
+            if (parent instanceof NestedGonObject nested && nested.byKey(key) != null) return nested.withoutNestedObject(key);
+
+            return parent.withoutAttribute(key);
+        });
+    }
+
+    // Applies the update to the object at the second to last segment and rebuilds the objects above it
+    private GonObject update(String[] path, int i, boolean create, UnaryOperator<GonObject> update) {
+        if (i == path.length - 1) return update.apply(this);
+
+        GonObject nestedObject = this instanceof NestedGonObject nested ? nested.byKey(path[i]) : null;
+        if (nestedObject == null) {
+            if (!create) return this;
+            nestedObject = new NestedGonObject(path[i], null, NO_KEYS, NO_VALUES, new GonObject[0], true);
+        }
+
+        GonObject updated = nestedObject.update(path, i + 1, create, update);
+        return updated == nestedObject ? this : this.putNestedObject(updated);
+    }
+
+    // Copy with other attributes. The arrays are new and kept as they are.
+    // Keeps only the header by default, so subclasses with a value or a body override it.
+    protected GonObject withAttributes(String[] keys, GonValue[] values) {
+        return new EmptyGonObject(this.name, this.clazz, keys, values, true);
+    }
+
+    // Copy with the nested object replaced or appended. Throws an IllegalArgumentException if the object cannot have
+    // a body. Gives the header a body with the object by default.
+    protected GonObject putNestedObject(GonObject object) {
+        return new NestedGonObject(this.name, this.clazz, this.attributeKeys, this.attributeValues, new GonObject[] { object }, true);
+    }
+
+    private static String[] segments(String path) {
+        String[] segments = path.split("/", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty()) throw new IllegalArgumentException("Invalid path: '%s'".formatted(path));
+        }
+
+        return segments;
+    }
+
+    private static String segmentName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    static <T> T[] remove(T[] array, int i) {
+        T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, i + 1, result, i, result.length - i);
+        return result;
+    }
+
+    final String name() {
+        return this.name;
+    }
+
+    final String clazz() {
+        return this.clazz;
+    }
+
+    final String[] attributeKeys() {
+        return this.attributeKeys;
+    }
+
+    final GonValue[] attributeValues() {
+        return this.attributeValues;
+    }
+
+    final GonValue attribute(String key) {
+        int i = this.attributePosition(key);
+        return i < 0 ? null : this.attributeValues[i];
+    }
+
+    int attributePosition(String key) {
+        String[] keys = this.attributeKeys;
+
+        if (keys.length <= NameIndex.THRESHOLD) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key || keys[i].equals(key)) return i;
+            }
+
+            return -1;
+        }
+
+        int[] index = this.attributeIndex;
+        if (index == null) this.attributeIndex = index = NameIndex.build(keys, keys.length);
+
+        return NameIndex.find(index, keys, key);
+    }
+
+    // Read only view on the attribute arrays
+    private final class AttributeMap extends AbstractMap<String, GonValue> {
+
+        private Set<Entry<String, GonValue>> entries;
+
+        @Override
+        public int size() {
+            return attributeKeys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String s && attributePosition(s) >= 0;
+        }
+
+        @Override
+        public GonValue get(Object key) {
+            return key instanceof String s ? attribute(s) : null;
+        }
+
+        @Override
+        public Set<Entry<String, GonValue>> entrySet() {
+            Set<Entry<String, GonValue>> entries = this.entries;
+            if (entries == null) this.entries = entries = new AbstractSet<>() {
+
+                @Override
+                public int size() {
+                    return attributeKeys.length;
+                }
+
+                @Override
+                public Iterator<Entry<String, GonValue>> iterator() {
+                    return new Iterator<>() {
+
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.next < attributeKeys.length;
+                        }
+
+                        @Override
+                        public Entry<String, GonValue> next() {
+                            if (!this.hasNext()) throw new NoSuchElementException();
+
+                            int i = this.next++;
+                            return new SimpleImmutableEntry<>(attributeKeys[i], attributeValues[i]);
+                        }
+                    };
+                }
+            };
+
+            return entries;
+        }
     }
 }
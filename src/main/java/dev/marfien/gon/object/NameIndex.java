@@ -0,0 +1,90 @@
+package dev.marfien.gon.object;
+
+// Open addressing table of positions keyed by name. Slots hold position + 1, so 0 marks a free slot.
+final class NameIndex {
+
+    // Below this size a linear scan is faster than hashing
+    static final int THRESHOLD = 8;
+
+    private NameIndex() {}
+
+    // Throws an IllegalArgumentException if a key is contained twice.
+    static int[] build(String[] keys, int size) {
+        int[] table = new int[tableSize(size)];
+        int mask = table.length - 1;
+
+        for (int i = 0; i < size; i++) {
+            int slot = spread(keys[i].hashCode()) & mask;
+            while (table[slot] != 0) {
+                if (keys[i].equals(keys[table[slot] - 1])) throw duplicateKey(keys[i]);
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = i + 1;
+        }
+
+        return table;
+    }
+
+    static int find(int[] table, String[] keys, String key) {
+        int mask = table.length - 1;
+
+        for (int slot = spread(key.hashCode()) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if (key.equals(keys[position])) return position;
+        }
+
+        return -1;
+    }
+
+    // Throws an IllegalArgumentException if two objects share a name.
+    static int[] build(GonObject[] objects) {
+        int[] table = new int[tableSize(objects.length)];
+        int mask = table.length - 1;
+
+        for (int i = 0; i < objects.length; i++) {
+            String name = objects[i].name();
+            if (name == null) continue;
+
+            int slot = spread(name.hashCode()) & mask;
+            while (table[slot] != 0) {
+                if (name.equals(objects[table[slot] - 1].name())) throw duplicate(name);
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = i + 1;
+        }
+
+        return table;
+    }
+
+    static int find(int[] table, GonObject[] objects, String name) {
+        int mask = table.length - 1;
+
+        for (int slot = spread(name.hashCode()) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if (name.equals(objects[position].name())) return position;
+        }
+
+        return -1;
+    }
+
+    static IllegalArgumentException duplicate(String name) {
+        // TODO specify in witch object
+        return new IllegalArgumentException(
+                "There is already a nested gon object present with the name '%s'".formatted(name));
+    }
+
+    static IllegalArgumentException duplicateKey(String key) {
+        return new IllegalArgumentException("The attribute '%s' is declared twice.".formatted(key));
+    }
+
+    private static int tableSize(int size) {
+        // Load factor of at most 0.5
+        return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
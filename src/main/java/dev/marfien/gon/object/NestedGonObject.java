@@ -8,72 +8,236 @@ import java.util.regex.Pattern;
 
 public class NestedGonObject extends GonObject {
 
-    private final List<GonObject> nestedObjects;
-    private final Map<String, GonObject> nestedObjectsByKey = new HashMap<>();
+    // Null until loadNestedObjects() was called for lazily loaded objects
+    private volatile GonObject[] nestedObjects;
+    // Only present for bodies with more than NameIndex.THRESHOLD objects. Written before nestedObjects.
+    private int[] nestedObjectsByKey;
+
+    private List<GonObject> nestedObjectList;
+    // Built on the first indexable query on a body with more than NameIndex.THRESHOLD objects
+    private volatile ChildIndex childIndex;
 
     public NestedGonObject(String name, String clazz, Map<String, GonValue> attributes, List<GonObject> nestedObjects) {
         super(name, clazz, attributes);
-        this.nestedObjects = List.copyOf(nestedObjects);
+        GonObject[] array = nestedObjects.toArray(new GonObject[0]);
+        this.nestedObjectsByKey = index(array);
+        this.nestedObjects = array;
+    }
 
-        for (GonObject nestedObject : nestedObjects) {
-            nestedObject.getName().ifPresent(key -> {
-                if (nestedObjectsByKey.containsKey(key))
-                    // TODO specify in witch object
-                    throw new IllegalArgumentException(
-                            "There is already a nested gon object present with the name '%s'".formatted(key));
+    // Copies the arrays
+    public NestedGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, GonObject[] nestedObjects) {
+        super(name, clazz, attributeKeys, attributeValues);
+        GonObject[] array = nestedObjects.clone();
+        this.nestedObjectsByKey = index(array);
+        this.nestedObjects = array;
+    }
 
-                this.nestedObjectsByKey.put(key, nestedObject);
-            });
-        }
+    // Takes over the arrays
+    NestedGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, GonObject[] nestedObjects, boolean shared) {
+        super(name, clazz, attributeKeys, attributeValues, shared);
+        this.nestedObjectsByKey = index(nestedObjects);
+        this.nestedObjects = nestedObjects;
+    }
+
+    // Shares the index of an object whose nested objects have the same names at the same positions
+    private NestedGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, GonObject[] nestedObjects, int[] nestedObjectsByKey) {
+        super(name, clazz, attributeKeys, attributeValues, true);
+        this.nestedObjectsByKey = nestedObjectsByKey;
+        this.nestedObjects = nestedObjects;
+    }
+
+    // The nested objects are requested from loadNestedObjects() when they are first needed.
+    protected NestedGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues) {
+        super(name, clazz, attributeKeys, attributeValues);
+    }
+
+    // Called at most once. The returned array must not be modified afterwards.
+    protected GonObject[] loadNestedObjects() {
+        throw new IllegalStateException("Nested objects are neither present nor loadable.");
     }
 
     public List<GonObject> getNestedObjects() {
-        return this.nestedObjects;
+        List<GonObject> list = this.nestedObjectList;
+        if (list == null) this.nestedObjectList = list = Collections.unmodifiableList(Arrays.asList(this.nestedObjects()));
+
+        return list;
+    }
+
+    GonObject[] nestedObjects() {
+        GonObject[] nestedObjects = this.nestedObjects;
+        if (nestedObjects != null) return nestedObjects;
+
+        synchronized (this) {
+            if (this.nestedObjects == null) {
+                GonObject[] loaded = this.loadNestedObjects();
+                this.nestedObjectsByKey = index(loaded);
+                this.nestedObjects = loaded;
+            }
+
+            return this.nestedObjects;
+        }
+    }
+
+    // Replaces the nested object of the same name or appends it. Objects without a name are always appended.
+    public NestedGonObject withNestedObject(GonObject object) {
+        GonObject[] nestedObjects = this.nestedObjects();
+        String name = object.name();
+        int position = name == null ? -1 : this.position(name);
+
+        if (position < 0) {
+            GonObject[] updated = Arrays.copyOf(nestedObjects, nestedObjects.length + 1);
+            updated[nestedObjects.length] = object;
+            return new NestedGonObject(this.name(), this.clazz(), this.attributeKeys(), this.attributeValues(), updated, true);
+        }
+
+        if (nestedObjects[position] == object) return this;
+
+        GonObject[] updated = nestedObjects.clone();
+        updated[position] = object;
+        return this.copy(this.name(), this.clazz(), this.attributeKeys(), this.attributeValues(), updated);
+    }
+
+    public NestedGonObject withoutNestedObject(String name) {
+        int position = this.position(name);
+        if (position < 0) return this;
+
+        return new NestedGonObject(this.name(), this.clazz(), this.attributeKeys(), this.attributeValues(), remove(this.nestedObjects(), position), true);
+    }
+
+    @Override
+    protected NestedGonObject withAttributes(String[] keys, GonValue[] values) {
+        return this.copy(this.name(), this.clazz(), keys, values, this.nestedObjects());
+    }
+
+    // The nested objects must have the same names at the same positions as those of this object
+    NestedGonObject copy(String name, String clazz, String[] keys, GonValue[] values, GonObject[] nestedObjects) {
+        GonObject[] own = this.nestedObjects();
+        if (nestedObjects.length != own.length) throw new IllegalArgumentException("Nested objects differ in length.");
+
+        return new NestedGonObject(name, clazz, keys, values, nestedObjects, this.nestedObjectsByKey);
+    }
+
+    @Override
+    protected NestedGonObject putNestedObject(GonObject object) {
+        return this.withNestedObject(object);
     }
 
     public GonObjectFilter filter() {
-        return filter(Predicate::and);
+        return this.new GonObjectFilter(Predicate::and, true);
     }
 
+    // The index is not used with a custom combinator, as it is unknown whether all criteria must match
     public GonObjectFilter filter(GonObjectFilter.PredicateCombinator<GonObject> combinator) {
-        return this.new GonObjectFilter(combinator);
+        return this.new GonObjectFilter(combinator, false);
+    }
+
+    GonObject byKey(String key) {
+        int position = this.position(key);
+        return position < 0 ? null : this.nestedObjects()[position];
+    }
+
+    int position(String key) {
+        GonObject[] nestedObjects = this.nestedObjects();
+
+        if (this.nestedObjectsByKey == null) {
+            for (int i = 0; i < nestedObjects.length; i++) {
+                if (key.equals(nestedObjects[i].name())) return i;
+            }
+
+            return -1;
+        }
+
+        return NameIndex.find(this.nestedObjectsByKey, nestedObjects, key);
+    }
+
+    // Null for small bodies, which are scanned instead
+    private ChildIndex childIndex() {
+        GonObject[] nestedObjects = this.nestedObjects();
+        if (nestedObjects.length <= NameIndex.THRESHOLD) return null;
+
+        ChildIndex index = this.childIndex;
+        if (index == null) this.childIndex = index = new ChildIndex(nestedObjects);
+
+        return index;
+    }
+
+    // Small bodies are checked for duplicate names without building an index.
+    private static int[] index(GonObject[] nestedObjects) {
+        if (nestedObjects.length > NameIndex.THRESHOLD) return NameIndex.build(nestedObjects);
+
+        for (int i = 0; i < nestedObjects.length; i++) {
+            String name = nestedObjects[i].name();
+            if (name == null) continue;
+
+            for (int j = 0; j < i; j++) {
+                if (name.equals(nestedObjects[j].name())) throw NameIndex.duplicate(name);
+            }
+        }
+
+        return null;
     }
 
+    // Criteria on class and attributes narrow the candidates to the intersection of the matching position lists
+    // of the child index. The complete predicate is still tested on each candidate.
     public class GonObjectFilter {
 
         private final PredicateCombinator<GonObject> combinator;
+        // Whether all criteria must match, so each one can narrow the candidates
+        private final boolean narrowing;
 
         // default value with no effect on the result.
         private Predicate<GonObject> filter = obj -> true;
 
-        private GonObjectFilter(PredicateCombinator<GonObject> combinator) {
+        // Positions of the objects that can match, all objects if null
+        private int[] candidates;
+
+        private GonObjectFilter(PredicateCombinator<GonObject> combinator, boolean narrowing) {
             this.combinator = Objects.requireNonNull(combinator, "Combinator must not be null.");
+            this.narrowing = narrowing;
         }
 
         public Optional<GonObject> byKey(String key) {
-            return Optional.ofNullable(nestedObjectsByKey.get(key))
+            return Optional.ofNullable(NestedGonObject.this.byKey(key))
                     .filter(this.filter);
         }
 
         public Collection<GonObject> all() {
-            return nestedObjects.stream()
-                    .filter(this.filter)
-                    .toList();
+            GonObject[] nestedObjects = nestedObjects();
+            List<GonObject> result = new ArrayList<>();
+
+            if (this.candidates == null) {
+                for (GonObject nestedObject : nestedObjects) {
+                    if (this.filter.test(nestedObject)) result.add(nestedObject);
+                }
+            } else {
+                for (int candidate : this.candidates) {
+                    if (this.filter.test(nestedObjects[candidate])) result.add(nestedObjects[candidate]);
+                }
+            }
+
+            return Collections.unmodifiableList(result);
         }
 
         public Optional<GonObject> first() {
-            for (GonObject nestedObject : nestedObjects) {
-                if (!this.filter.test(nestedObject)) continue;
+            GonObject[] nestedObjects = nestedObjects();
 
-                return Optional.of(nestedObject);
+            if (this.candidates == null) {
+                for (GonObject nestedObject : nestedObjects) {
+                    if (this.filter.test(nestedObject)) return Optional.of(nestedObject);
+                }
+            } else {
+                for (int candidate : this.candidates) {
+                    if (this.filter.test(nestedObjects[candidate])) return Optional.of(nestedObjects[candidate]);
+                }
             }
 
             return Optional.empty();
         }
 
         public Optional<GonObject> atPosition(int pos) {
-            if (pos < 0 || pos >= nestedObjects.size()) return Optional.empty();
-            GonObject obj = nestedObjects.get(pos);
+            GonObject[] nestedObjects = nestedObjects();
+            if (pos < 0 || pos >= nestedObjects.length) return Optional.empty();
+            GonObject obj = nestedObjects[pos];
 
             if (this.filter.test(obj)) return Optional.of(obj);
             return Optional.empty();
@@ -92,19 +256,29 @@ public class NestedGonObject extends GonObject {
         }
 
         public GonObjectFilter withAttribute(String attribute) {
-            return this.with(obj -> obj.getAttributes().containsKey(attribute));
+            ChildIndex index = this.index();
+            if (index != null) this.narrow(index.byAttribute(attribute));
+
+            return this.with(obj -> obj.attribute(attribute) != null);
         }
 
         public GonObjectFilter withAttribute(String attribute, GonValue value) {
+            // A null value also matches objects without the attribute
+            ChildIndex index = value != null ? this.index() : null;
+            if (index != null) this.narrow(index.byAttributeValue(attribute, value));
+
             return this.withAttributeMatching(attribute, attributeValue -> Objects.equals(attributeValue, value));
         }
 
         public GonObjectFilter withAttributeMatching(String attribute, Predicate<GonValue> predicate) {
-            return this.with(obj -> predicate.test(obj.getAttributes().get(attribute)));
+            return this.with(obj -> predicate.test(obj.attribute(attribute)));
         }
 
         public GonObjectFilter withClass(String clazz) {
-            return this.with(obj -> Objects.equals(obj.getClazz().orElse(null), clazz));
+            ChildIndex index = this.index();
+            if (index != null) this.narrow(index.byClass(clazz));
+
+            return this.with(obj -> Objects.equals(obj.clazz(), clazz));
         }
 
         public GonObjectFilter with(Predicate<GonObject> filter) {
@@ -112,6 +286,14 @@ public class NestedGonObject extends GonObject {
             return this;
         }
 
+        private ChildIndex index() {
+            return this.narrowing ? childIndex() : null;
+        }
+
+        private void narrow(int[] positions) {
+            this.candidates = this.candidates == null ? positions : ChildIndex.intersect(this.candidates, positions);
+        }
+
         @FunctionalInterface
         public interface PredicateCombinator<T> {
 
@@ -13,7 +13,35 @@ public class SingleValueGonObject extends GonObject {
         this.value = value;
     }
 
+    // Copies the arrays
+    public SingleValueGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, GonValue value) {
+        super(name, clazz, attributeKeys, attributeValues);
+        this.value = value;
+    }
+
+    // Takes over the arrays
+    SingleValueGonObject(String name, String clazz, String[] attributeKeys, GonValue[] attributeValues, GonValue value, boolean shared) {
+        super(name, clazz, attributeKeys, attributeValues, shared);
+        this.value = value;
+    }
+
     public GonValue getValue() {
         return this.value;
     }
+
+    public SingleValueGonObject withValue(GonValue value) {
+        if (this.value.equals(value)) return this;
+
+        return new SingleValueGonObject(this.name(), this.clazz(), this.attributeKeys(), this.attributeValues(), value, true);
+    }
+
+    @Override
+    protected SingleValueGonObject withAttributes(String[] keys, GonValue[] values) {
+        return new SingleValueGonObject(this.name(), this.clazz(), keys, values, this.value, true);
+    }
+
+    @Override
+    protected GonObject putNestedObject(GonObject object) {
+        throw new IllegalArgumentException("The object '%s' cannot have a body.".formatted(this.name()));
+    }
 }
@@ -0,0 +1,403 @@
+package dev.marfien.gon.query;
+
+import dev.marfien.gon.GonToken;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.io.GonEvent;
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.EmptyGonObject;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonValue;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Compiled path expression selecting nested objects, e.g. servers/*[Server][region="eu"]/port or **[Endpoint].
+// Steps are separated by '/' and match a name or any name with '*'. Predicates in brackets test the class ([Server]),
+// an attribute value ([region="eu"]) or a flag ([-enabled], [-!enabled]). '**' matches any number of levels.
+// The first step is tested against the nested objects of the root, which is never selected itself.
+// Immutable and thread safe.
+public final class GonPath {
+
+    private final String source;
+    private final Step[] steps;
+    // Set in the state of an object that is matched by the last step
+    private final long found;
+
+    private GonPath(String source, Step[] steps) {
+        this.source = source;
+        this.steps = steps;
+        this.found = 1L << steps.length;
+    }
+
+    public static GonPath compile(String path) {
+        return new GonPath(path, new PathParser(path).parse());
+    }
+
+    // Selects from the nested objects of the root in document order.
+    public List<GonObject> select(GonObject root) {
+        List<GonObject> result = new ArrayList<>();
+        this.select(root, 1L, result::add);
+        return result;
+    }
+
+    public Optional<GonObject> selectFirst(GonObject root) {
+        List<GonObject> result = this.select(root);
+        return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
+    }
+
+    // Every remaining top level object of the reader is a root like in select(GonObject). Bodies that cannot contain
+    // a match are skipped without being materialized.
+    public List<GonObject> select(GonReader reader) throws IOException {
+        List<GonObject> result = new ArrayList<>();
+        this.select(reader, result::add);
+        return result;
+    }
+
+    public void select(GonReader reader, Consumer<? super GonObject> consumer) throws IOException {
+        for (GonEvent event = reader.nextEvent(); event != GonEvent.END_DOCUMENT; event = reader.nextEvent()) {
+            // The header of the root is not tested
+            while (event != GonEvent.START_BODY && event != GonEvent.END_OBJECT) event = reader.nextEvent();
+            if (event == GonEvent.END_OBJECT) continue;
+
+            this.select(reader, 1L, consumer);
+            reader.nextEvent(); // END_OBJECT
+        }
+    }
+
+    private void select(GonObject parent, long active, Consumer<? super GonObject> consumer) {
+        if (!(parent instanceof NestedGonObject nested)) return;
+
+        // A single exact name step is answered by the name index
+        if (Long.bitCount(active) == 1) {
+            Step step = this.steps[Long.numberOfTrailingZeros(active)];
+
+            if (!step.descendant && step.name != null) {
+                nested.filter().byKey(step.name).ifPresent(child -> this.accept(child, active, consumer));
+                return;
+            }
+        }
+
+        for (GonObject child : nested.getNestedObjects()) {
+            this.accept(child, active, consumer);
+        }
+    }
+
+    private void accept(GonObject object, long active, Consumer<? super GonObject> consumer) {
+        long next = this.advance(active, object.getName().orElse(null), object.getClazz().orElse(null), object.getAttributes());
+        if ((next & this.found) != 0) consumer.accept(object);
+
+        next &= ~this.found;
+        if (next != 0) this.select(object, next, consumer);
+    }
+
+    // Reads objects until the end of the current body, which is consumed.
+    private void select(GonReader reader, long active, Consumer<? super GonObject> consumer) throws IOException {
+        // Reused by the headers of the body, which are only turned into objects if they match
+        String[] keys = new String[8];
+        GonValue[] values = new GonValue[8];
+
+        while (true) {
+            GonEvent event = reader.nextEvent();
+            if (event == GonEvent.END_BODY) return;
+
+            String name = null;
+            String clazz = null;
+            int size = 0;
+            GonValue value = null;
+
+            // The header ends with START_BODY or END_OBJECT
+            for (event = reader.nextEvent(); event != GonEvent.START_BODY && event != GonEvent.END_OBJECT; event = reader.nextEvent()) {
+                switch (event) {
+                    case NAME -> name = reader.getText();
+                    case CLASS -> clazz = reader.getText();
+                    case ATTRIBUTE, FLAG -> {
+                        if (size == keys.length) {
+                            keys = Arrays.copyOf(keys, size * 2);
+                            values = Arrays.copyOf(values, size * 2);
+                        }
+
+                        keys[size] = reader.getText();
+                        values[size++] = reader.getValue();
+                    }
+                    case VALUE -> value = reader.getValue();
+                    default -> throw new GonParseException("Unexpected event in header: " + event);
+                }
+            }
+
+            long next = this.advance(active, name, clazz, keys, values, size);
+            boolean found = (next & this.found) != 0;
+            next &= ~this.found;
+
+            if (event == GonEvent.END_OBJECT) {
+                if (found) consumer.accept(value == null
+                        ? new EmptyGonObject(name, clazz, attributes(keys, values, size))
+                        : new SingleValueGonObject(name, clazz, attributes(keys, values, size), value));
+                continue;
+            }
+
+            if (found) {
+                List<GonObject> nestedObjects = new ArrayList<>();
+                while (reader.peekToken() != GonToken.BODY_CLOSER) {
+                    nestedObjects.add(reader.nextObject());
+                }
+
+                reader.nextEvent(); // END_BODY
+                reader.nextEvent(); // END_OBJECT
+
+                NestedGonObject object = new NestedGonObject(name, clazz, attributes(keys, values, size), nestedObjects);
+                consumer.accept(object);
+                if (next != 0) this.select(object, next, consumer);
+                continue;
+            }
+
+            if (next != 0) {
+                this.select(reader, next, consumer);
+            } else {
+                reader.skipBody();
+            }
+
+            reader.nextEvent(); // END_OBJECT
+        }
+    }
+
+    // Each bit of the state marks a step that the next object is tested against.
+    private long advance(long active, String name, String clazz, Map<String, GonValue> attributes) {
+        long next = 0;
+
+        for (long remaining = active; remaining != 0; remaining &= remaining - 1) {
+            int i = Long.numberOfTrailingZeros(remaining);
+            Step step = this.steps[i];
+
+            // Descendant steps stay active below objects they do not match
+            if (step.descendant) next |= 1L << i;
+            if (step.matches(name, clazz, attributes)) next |= 1L << (i + 1);
+        }
+
+        return next;
+    }
+
+    // Same as above for attributes in the first size elements of the arrays
+    private long advance(long active, String name, String clazz, String[] keys, GonValue[] values, int size) {
+        long next = 0;
+
+        for (long remaining = active; remaining != 0; remaining &= remaining - 1) {
+            int i = Long.numberOfTrailingZeros(remaining);
+            Step step = this.steps[i];
+
+            if (step.descendant) next |= 1L << i;
+            if (step.matches(name, clazz, keys, values, size)) next |= 1L << (i + 1);
+        }
+
+        return next;
+    }
+
+    // Like the reader, a later attribute with the same key replaces an earlier one
+    private static Map<String, GonValue> attributes(String[] keys, GonValue[] values, int size) {
+        Map<String, GonValue> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) attributes.put(keys[i], values[i]);
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof GonPath path && path.source.equals(this.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.source.hashCode();
+    }
+
+    // name is null for '*'
+    private record Step(boolean descendant, String name, String clazz, String[] keys, GonValue[] values) {
+
+        private boolean matches(String name, String clazz, Map<String, GonValue> attributes) {
+            if (!this.matches(name, clazz)) return false;
+
+            for (int i = 0; i < this.keys.length; i++) {
+                if (!this.values[i].equals(attributes.get(this.keys[i]))) return false;
+            }
+
+            return true;
+        }
+
+        private boolean matches(String name, String clazz, String[] keys, GonValue[] values, int size) {
+            if (!this.matches(name, clazz)) return false;
+
+            for (int i = 0; i < this.keys.length; i++) {
+                if (!this.values[i].equals(lastValue(keys, values, size, this.keys[i]))) return false;
+            }
+
+            return true;
+        }
+
+        private boolean matches(String name, String clazz) {
+            return (this.name == null || this.name.equals(name)) && (this.clazz == null || this.clazz.equals(clazz));
+        }
+
+        private static GonValue lastValue(String[] keys, GonValue[] values, int size, String key) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (keys[i].equals(key)) return values[i];
+            }
+
+            return null;
+        }
+    }
+
+    private static final class PathParser {
+
+        // One bit of the state is reserved for found objects
+        private static final int MAX_STEPS = Long.SIZE - 1;
+
+        private final String path;
+        private int pos;
+
+        private PathParser(String path) {
+            this.path = Objects.requireNonNull(path);
+        }
+
+        private Step[] parse() {
+            List<Step> steps = new ArrayList<>();
+            boolean descendant = false;
+
+            if (this.peek() == '/') this.pos++;
+
+            while (true) {
+                if (this.path.startsWith("**", this.pos)) {
+                    this.pos += 2;
+                    descendant = true;
+
+                    // '**' without predicates applies to the next step
+                    if (this.peek() == '/') {
+                        this.pos++;
+                        continue;
+                    }
+
+                    if (this.peek() != '[') {
+                        steps.add(new Step(true, null, null, new String[0], new GonValue[0]));
+                        break;
+                    }
+                }
+
+                steps.add(this.step(descendant));
+                descendant = false;
+
+                if (this.pos == this.path.length()) break;
+                this.expect('/');
+            }
+
+            if (steps.size() > MAX_STEPS) throw this.error("Paths must not have more than %d steps".formatted(MAX_STEPS));
+            return steps.toArray(new Step[0]);
+        }
+
+        private Step step(boolean descendant) {
+            String name = null;
+            if (this.peek() == '*') {
+                this.pos++;
+            } else {
+                name = this.name();
+                if (name.isEmpty()) {
+                    if (this.peek() != '[') throw this.error("Expected name, '*' or '['");
+                    name = null;
+                }
+            }
+
+            String clazz = null;
+            List<String> keys = new ArrayList<>();
+            List<GonValue> values = new ArrayList<>();
+
+            while (this.peek() == '[') {
+                this.pos++;
+
+                if (this.peek() == '-') {
+                    this.pos++;
+                    boolean value = true;
+                    if (this.peek() == '!') {
+                        this.pos++;
+                        value = false;
+                    }
+
+                    keys.add(this.requireName());
+                    values.add(value ? GonValue.TRUE : GonValue.FALSE);
+                } else {
+                    String key = this.requireName();
+
+                    if (this.peek() == '=') {
+                        this.pos++;
+                        keys.add(key);
+                        values.add(this.value());
+                    } else {
+                        if (clazz != null && !clazz.equals(key)) throw this.error("Steps must not test more than one class");
+                        clazz = key;
+                    }
+                }
+
+                this.expect(']');
+            }
+
+            return new Step(descendant, name, clazz, keys.toArray(new String[0]), values.toArray(new GonValue[0]));
+        }
+
+        private String name() {
+            int start = this.pos;
+            while (this.pos < this.path.length() && GonToken.isNameChar(this.path.charAt(this.pos))) this.pos++;
+            return this.path.substring(start, this.pos);
+        }
+
+        private String requireName() {
+            String name = this.name();
+            if (name.isEmpty()) throw this.error("Expected name");
+            return name;
+        }
+
+        // Values are written as in GON documents
+        private GonValue value() {
+            int start = this.pos;
+            boolean string = false;
+
+            for (; this.pos < this.path.length(); this.pos++) {
+                char c = this.path.charAt(this.pos);
+
+                if (c == '\\' && string) {
+                    this.pos++;
+                } else if (c == '"') {
+                    string = !string;
+                } else if (c == ']' && !string) {
+                    break;
+                }
+            }
+
+            try (GonReader reader = new GonReader(GonLexer.of(this.path.substring(start, this.pos)))) {
+                GonValue value = reader.nextValue();
+                if (reader.peekToken() != GonToken.END_OF_FILE) throw this.error("Unexpected characters after value");
+                return value;
+            } catch (IOException e) {
+                IllegalArgumentException error = this.error("Invalid value");
+                error.initCause(e);
+                throw error;
+            }
+        }
+
+        private int peek() {
+            return this.pos < this.path.length() ? this.path.charAt(this.pos) : GonLexer.EOF;
+        }
+
+        private void expect(char c) {
+            if (this.peek() != c) throw this.error("Expected '%s'".formatted(c));
+            this.pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("%s at %d in path: %s".formatted(message, this.pos, this.path));
+        }
+    }
+}
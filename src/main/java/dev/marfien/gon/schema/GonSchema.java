@@ -0,0 +1,147 @@
+package dev.marfien.gon.schema;
+
+import dev.marfien.gon.exception.GonSchemaException;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+
+import java.util.*;
+
+// Compiled schema that GonReader validates documents against while they are parsed. The schema is itself written in GON:
+//
+// schema root="config" {
+//   config class="Config" -closed {
+//     [Attribute] key="version" type="int" -required;
+//     [Child] name="servers" type="servers" min=1 max=1;
+//   }
+//   servers content="body" {
+//     [Child] class="Server" type="server";
+//   }
+//   server class="Server" value="int|null";
+// }
+//
+// Every nested object of the schema declares a type, the root attribute names the type of the top level objects.
+// Types may restrict the classes of the objects with class="A|B", their content with content="empty|value|body|any"
+// and the types of a single value with value="int|float|string|boolean|null". Closed types allow no other attributes
+// and nested objects than those declared. Nested objects match the first child rule whose name and class match.
+// Objects without type are not validated.
+public final class GonSchema {
+
+    // Required attributes are tracked in a bit mask
+    private static final int MAX_REQUIRED_ATTRIBUTES = 64;
+
+    private final ObjectType root;
+
+    private GonSchema(ObjectType root) {
+        this.root = root;
+    }
+
+    // Throws an IllegalArgumentException if the definition is invalid.
+    public static GonSchema of(GonObject definition) {
+        if (!(definition instanceof NestedGonObject nested))
+            throw new IllegalArgumentException("The schema has no type declarations.");
+
+        Map<String, ObjectType> types = new HashMap<>();
+        Map<ObjectType, NestedGonObject> bodies = new LinkedHashMap<>();
+
+        for (GonObject declaration : nested.getNestedObjects()) {
+            String name = declaration.getName().orElseThrow(() -> new IllegalArgumentException("Types must be named."));
+            ObjectType type = type(name, declaration);
+            types.put(name, type);
+            if (declaration instanceof NestedGonObject body) bodies.put(type, body);
+            else type.children = new ObjectType.ChildRule[0];
+        }
+
+        for (Map.Entry<ObjectType, NestedGonObject> entry : bodies.entrySet()) {
+            rules(entry.getKey(), entry.getValue(), types);
+        }
+
+        String root = definition.getString("root", null);
+        if (root == null) throw new IllegalArgumentException("The schema has no root type.");
+
+        return new GonSchema(resolve(root, types));
+    }
+
+    // Validator for a single reader
+    public GonValidator newValidator() {
+        return new GonValidator(this.root);
+    }
+
+    // Validates a top level object that was parsed without the schema. Violations have no position.
+    public void validate(GonObject object) throws GonSchemaException {
+        this.newValidator().object(object);
+    }
+
+    private static ObjectType type(String name, GonObject declaration) {
+        String classes = declaration.getString("class", null);
+        Set<String> allowedClasses = classes == null ? null : Set.of(classes.split("\\|"));
+
+        String valueTypes = declaration.getString("value", null);
+        String content = declaration.getString("content", valueTypes != null ? "value" : "any");
+
+        ObjectType.Content kind;
+        try {
+            kind = ObjectType.Content.valueOf(content.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown content of type '%s': '%s'".formatted(name, content));
+        }
+
+        return new ObjectType(
+                name,
+                allowedClasses,
+                declaration.getBoolean("closed", false),
+                kind,
+                valueTypes == null ? ValueType.ANY : ValueType.parse(valueTypes)
+        );
+    }
+
+    private static void rules(ObjectType type, NestedGonObject body, Map<String, ObjectType> types) {
+        List<ObjectType.ChildRule> children = new ArrayList<>();
+        int required = 0;
+
+        for (GonObject rule : body.getNestedObjects()) {
+            String clazz = rule.getClazz().orElse("");
+
+            switch (clazz) {
+                case "Attribute" -> {
+                    String key = rule.getString("key", null);
+                    if (key == null) throw new IllegalArgumentException("Attribute rule of type '%s' has no key.".formatted(type.name));
+
+                    boolean isRequired = rule.getBoolean("required", false);
+                    if (isRequired && required == MAX_REQUIRED_ATTRIBUTES)
+                        throw new IllegalArgumentException("Type '%s' has more than %d required attributes.".formatted(type.name, MAX_REQUIRED_ATTRIBUTES));
+
+                    String valueTypes = rule.getString("type", null);
+                    ObjectType.AttributeRule attribute = new ObjectType.AttributeRule(
+                            key, valueTypes == null ? ValueType.ANY : ValueType.parse(valueTypes), isRequired, isRequired ? required++ : -1);
+
+                    if (type.attributes.put(key, attribute) != null)
+                        throw new IllegalArgumentException("Attribute '%s' of type '%s' is declared twice.".formatted(key, type.name));
+                    if (isRequired) type.requiredAttributes |= 1L << attribute.index();
+                }
+                case "Child" -> {
+                    long max = rule.getLong("max", Integer.MAX_VALUE);
+                    ObjectType.ChildRule child = new ObjectType.ChildRule(
+                            rule.getString("name", null),
+                            rule.getString("class", null),
+                            rule.getString("type", null),
+                            (int) rule.getLong("min", 0),
+                            (int) Math.min(max, Integer.MAX_VALUE)
+                    );
+
+                    if (child.typeName != null) child.type = resolve(child.typeName, types);
+                    children.add(child);
+                }
+                default -> throw new IllegalArgumentException("Unknown rule of type '%s': [%s]".formatted(type.name, clazz));
+            }
+        }
+
+        type.children = children.toArray(new ObjectType.ChildRule[0]);
+    }
+
+    private static ObjectType resolve(String name, Map<String, ObjectType> types) {
+        ObjectType type = types.get(name);
+        if (type == null) throw new IllegalArgumentException("Unknown type: '%s'".formatted(name));
+
+        return type;
+    }
+}
@@ -0,0 +1,214 @@
+package dev.marfien.gon.schema;
+
+import dev.marfien.gon.exception.GonSchemaException;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonValue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+// Validates the objects of one reader in the order they are parsed. Each object starts with header(), followed by its
+// attributes, and ends with empty(), value() or startBody() ... endBody(). The reader adds the position to violations.
+public final class GonValidator {
+
+    private final ObjectType root;
+
+    // One frame per open object, reused across objects of the same depth
+    private Frame[] frames = new Frame[8];
+    private int depth;
+
+    GonValidator(ObjectType root) {
+        this.root = root;
+    }
+
+    public void header(String name, String clazz) throws GonSchemaException {
+        ObjectType type;
+
+        if (this.depth == 0) {
+            type = this.root;
+        } else {
+            Frame parent = this.frames[this.depth - 1];
+            type = parent.type == null ? null : parent.child(name, clazz);
+        }
+
+        if (type != null && type.classes != null && (clazz == null || !type.classes.contains(clazz)))
+            throw violation("%s must be of class %s".formatted(describe(name, clazz), String.join("|", type.classes)));
+
+        if (this.depth == this.frames.length) this.frames = Arrays.copyOf(this.frames, this.depth * 2);
+
+        Frame frame = this.frames[this.depth];
+        if (frame == null) frame = this.frames[this.depth] = new Frame();
+        this.depth++;
+
+        frame.open(type, name, clazz);
+    }
+
+    public void attribute(String key, GonValue value) throws GonSchemaException {
+        Frame frame = this.current();
+        ObjectType type = frame.type;
+        if (type == null) return;
+
+        ObjectType.AttributeRule rule = type.attributes.get(key);
+        if (rule == null) {
+            if (type.closed) throw violation("Undeclared attribute '%s' in %s".formatted(key, frame.describe()));
+            return;
+        }
+
+        if ((rule.types() & ValueType.maskOf(value)) == 0)
+            throw violation("Attribute '%s' of %s must be %s".formatted(key, frame.describe(), ValueType.format(rule.types())));
+
+        if (rule.required()) frame.requiredAttributes |= 1L << rule.index();
+    }
+
+    // Ends an object without value and body
+    public void empty() throws GonSchemaException {
+        Frame frame = this.endHeader(ObjectType.Content.EMPTY);
+        frame.checkChildren();
+        this.depth--;
+    }
+
+    // Ends an object with a single value
+    public void value(GonValue value) throws GonSchemaException {
+        Frame frame = this.endHeader(ObjectType.Content.VALUE);
+
+        if (frame.type != null && (frame.type.valueTypes & ValueType.maskOf(value)) == 0)
+            throw violation("Value of %s must be %s".formatted(frame.describe(), ValueType.format(frame.type.valueTypes)));
+
+        frame.checkChildren();
+        this.depth--;
+    }
+
+    public void startBody() throws GonSchemaException {
+        this.endHeader(ObjectType.Content.BODY);
+    }
+
+    // Ends the object the body belongs to
+    public void endBody() throws GonSchemaException {
+        this.current().checkChildren();
+        this.depth--;
+    }
+
+    // Validates an object that was parsed without the schema, including its nested objects
+    public void object(GonObject object) throws GonSchemaException {
+        this.header(object.getName().orElse(null), object.getClazz().orElse(null));
+        for (Map.Entry<String, GonValue> attribute : object.getAttributes().entrySet()) {
+            this.attribute(attribute.getKey(), attribute.getValue());
+        }
+
+        if (object instanceof SingleValueGonObject single) {
+            this.value(single.getValue());
+        } else if (object instanceof NestedGonObject nested) {
+            this.startBody();
+            for (GonObject nestedObject : nested.getNestedObjects()) {
+                this.object(nestedObject);
+            }
+            this.endBody();
+        } else {
+            this.empty();
+        }
+    }
+
+    // Abandons the object whose header or body is open without checking the rest of it, e.g. if the reader skips it.
+    public void skip() {
+        this.current();
+        this.depth--;
+    }
+
+    private Frame endHeader(ObjectType.Content content) throws GonSchemaException {
+        Frame frame = this.current();
+        ObjectType type = frame.type;
+        if (type == null) return frame;
+
+        long missing = type.requiredAttributes & ~frame.requiredAttributes;
+        if (missing != 0) {
+            int index = Long.numberOfTrailingZeros(missing);
+            String key = type.attributes.values().stream()
+                    .filter(rule -> rule.index() == index)
+                    .findFirst().orElseThrow().key();
+
+            throw violation("Missing attribute '%s' in %s".formatted(key, frame.describe()));
+        }
+
+        if (type.content != ObjectType.Content.ANY && type.content != content) {
+            throw violation("%s must %s".formatted(frame.describe(), switch (type.content) {
+                case EMPTY -> "neither have a value nor a body";
+                case VALUE -> "have a single value";
+                default -> "have a body";
+            }));
+        }
+
+        return frame;
+    }
+
+    private Frame current() {
+        if (this.depth == 0) throw new IllegalStateException("No object is open.");
+        return this.frames[this.depth - 1];
+    }
+
+    private static GonSchemaException violation(String message) {
+        return new GonSchemaException(message);
+    }
+
+    private static String describe(String name, String clazz) {
+        if (name != null) return "'%s'".formatted(name);
+        if (clazz != null) return "object of class '%s'".formatted(clazz);
+        return "unnamed object";
+    }
+
+    private static final class Frame {
+
+        // Null if the object is not validated
+        private ObjectType type;
+        private String name;
+        private String clazz;
+
+        private long requiredAttributes;
+        private int[] childCounts = new int[4];
+
+        private void open(ObjectType type, String name, String clazz) {
+            this.type = type;
+            this.name = name;
+            this.clazz = clazz;
+            this.requiredAttributes = 0;
+
+            if (type != null) {
+                if (this.childCounts.length < type.children.length) this.childCounts = new int[type.children.length];
+                else Arrays.fill(this.childCounts, 0, type.children.length, 0);
+            }
+        }
+
+        // Type of a nested object
+        private ObjectType child(String name, String clazz) throws GonSchemaException {
+            ObjectType.ChildRule[] rules = this.type.children;
+
+            for (int i = 0; i < rules.length; i++) {
+                ObjectType.ChildRule rule = rules[i];
+                if (!rule.matches(name, clazz)) continue;
+
+                if (++this.childCounts[i] > rule.max)
+                    throw violation("%s allows at most %d nested %s".formatted(this.describe(), rule.max, rule.describe()));
+
+                return rule.type;
+            }
+
+            if (this.type.closed) throw violation("Undeclared nested %s in %s".formatted(GonValidator.describe(name, clazz), this.describe()));
+            return null;
+        }
+
+        private void checkChildren() throws GonSchemaException {
+            if (this.type == null) return;
+
+            ObjectType.ChildRule[] rules = this.type.children;
+            for (int i = 0; i < rules.length; i++) {
+                if (this.childCounts[i] < rules[i].min)
+                    throw violation("%s requires at least %d nested %s".formatted(this.describe(), rules[i].min, rules[i].describe()));
+            }
+        }
+
+        private String describe() {
+            return GonValidator.describe(this.name, this.clazz);
+        }
+    }
+}
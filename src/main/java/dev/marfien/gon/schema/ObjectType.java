@@ -0,0 +1,72 @@
+package dev.marfien.gon.schema;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Declared shape of objects. Child rules are resolved to their types after all types are compiled.
+final class ObjectType {
+
+    enum Content { ANY, EMPTY, VALUE, BODY }
+
+    record AttributeRule(String key, int types, boolean required, int index) {}
+
+    static final class ChildRule {
+
+        final String name;
+        final String clazz;
+        final String typeName;
+        final int min;
+        final int max;
+
+        // Null if the objects are not validated
+        ObjectType type;
+
+        ChildRule(String name, String clazz, String typeName, int min, int max) {
+            this.name = name;
+            this.clazz = clazz;
+            this.typeName = typeName;
+            this.min = min;
+            this.max = max;
+        }
+
+        boolean matches(String name, String clazz) {
+            return (this.name == null || this.name.equals(name)) && (this.clazz == null || this.clazz.equals(clazz));
+        }
+
+        String describe() {
+            if (this.name != null) return "'%s'".formatted(this.name);
+            if (this.clazz != null) return "of class '%s'".formatted(this.clazz);
+            return "objects";
+        }
+    }
+
+    final String name;
+    // Null if any class or none is allowed
+    final Set<String> classes;
+    final boolean closed;
+    final Content content;
+    final int valueTypes;
+
+    final Map<String, AttributeRule> attributes = new HashMap<>();
+    // Bits of the required attribute rules
+    long requiredAttributes;
+    ChildRule[] children;
+
+    ObjectType(String name, Set<String> classes, boolean closed, Content content, int valueTypes) {
+        this.name = name;
+        this.classes = classes;
+        this.closed = closed;
+        this.content = content;
+        this.valueTypes = valueTypes;
+    }
+
+    // Null if no rule matches
+    ChildRule child(String name, String clazz) {
+        for (ChildRule rule : this.children) {
+            if (rule.matches(name, clazz)) return rule;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package dev.marfien.gon.schema;
+
+import dev.marfien.gon.value.*;
+
+import java.util.StringJoiner;
+
+// Types of attribute and single values. Sets of them are bit masks.
+enum ValueType {
+
+    INT("int"),
+    FLOAT("float"),
+    STRING("string"),
+    BOOLEAN("boolean"),
+    NULL("null");
+
+    static final int ANY = (1 << values().length) - 1;
+
+    private final String keyword;
+
+    ValueType(String keyword) {
+        this.keyword = keyword;
+    }
+
+    int mask() {
+        return 1 << this.ordinal();
+    }
+
+    static int maskOf(GonValue value) {
+        if (value instanceof GonString) return STRING.mask();
+        if (value instanceof GonInt) return INT.mask();
+        if (value instanceof GonFloat) return FLOAT.mask();
+        if (value instanceof GonBoolean) return BOOLEAN.mask();
+        if (value instanceof GonNull) return NULL.mask();
+
+        return 0;
+    }
+
+    // Parses types separated by '|', e.g. "int|null"
+    static int parse(String types) {
+        int mask = 0;
+
+        outer:
+        for (String keyword : types.split("\\|")) {
+            for (ValueType type : values()) {
+                if (type.keyword.equals(keyword.strip())) {
+                    mask |= type.mask();
+                    continue outer;
+                }
+            }
+
+            throw new IllegalArgumentException("Unknown value type: '%s'".formatted(keyword));
+        }
+
+        return mask;
+    }
+
+    static String format(int mask) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (ValueType type : values()) {
+            if ((mask & type.mask()) != 0) joiner.add(type.keyword);
+        }
+
+        return joiner.toString();
+    }
+}
@@ -1,15 +1,13 @@
 package dev.marfien.gon.value;
 
-import java.util.Objects;
-
 public non-sealed class GonBoolean implements GonValue<Boolean> {
 
-    static final GonBoolean TRUE = new GonBoolean(Boolean.TRUE);
-    static final GonBoolean FALSE = new GonBoolean(Boolean.FALSE);
+    static final GonBoolean TRUE = new GonBoolean(true);
+    static final GonBoolean FALSE = new GonBoolean(false);
 
-    private final Boolean value;
+    private final boolean value;
 
-    private GonBoolean(Boolean value) {
+    private GonBoolean(boolean value) {
         this.value = value;
     }
 
@@ -18,9 +16,13 @@ public non-sealed class GonBoolean implements GonValue<Boolean> {
         return this.value;
     }
 
+    public boolean getAsBoolean() {
+        return this.value;
+    }
+
     @Override
     public String toString() {
-        return this.value.toString();
+        return Boolean.toString(this.value);
     }
 
     @Override
@@ -28,12 +30,12 @@ public non-sealed class GonBoolean implements GonValue<Boolean> {
         if (obj == this) return true;
         if (!(obj instanceof GonBoolean bool)) return false;
 
-        return Objects.equals(bool.value, this.value);
+        return bool.value == this.value;
     }
 
     @Override
     public int hashCode() {
-        return 47^this.value.hashCode();
+        return 47^Boolean.hashCode(this.value);
     }
 
 }
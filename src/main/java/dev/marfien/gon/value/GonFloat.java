@@ -1,13 +1,15 @@
 package dev.marfien.gon.value;
 
-import java.util.Objects;
-
 public non-sealed class GonFloat implements GonValue<Double> {
 
-    private final Double value;
+    private final double value;
+
+    public GonFloat(double value) {
+        this.value = value;
+    }
 
-    public GonFloat(Double value) {
-        this.value = Objects.requireNonNull(value, "Value cannot be null. Use GonValue.NULL instead.");
+    public static GonFloat of(double value) {
+        return new GonFloat(value);
     }
 
     @Override
@@ -15,9 +17,13 @@ public non-sealed class GonFloat implements GonValue<Double> {
         return this.value;
     }
 
+    public double getAsDouble() {
+        return this.value;
+    }
+
     @Override
     public String toString() {
-        return Objects.toString(this.value);
+        return Double.toString(this.value);
     }
 
     @Override
@@ -25,12 +31,13 @@ public non-sealed class GonFloat implements GonValue<Double> {
         if (obj == this) return true;
         if (!(obj instanceof GonFloat f)) return false;
 
-        return Objects.equals(f.value, this.value);
+        // Same semantics as Double.equals()
+        return Double.doubleToLongBits(f.value) == Double.doubleToLongBits(this.value);
     }
 
     @Override
     public int hashCode() {
-        return 47^this.value.hashCode();
+        return 47^Double.hashCode(this.value);
     }
 
 }
@@ -1,13 +1,27 @@
 package dev.marfien.gon.value;
 
-import java.util.Objects;
-
 public non-sealed class GonInt implements GonValue<Long> {
 
-    private final Long value;
+    // Shared instances for small values
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final GonInt[] CACHE = new GonInt[CACHE_HIGH - CACHE_LOW + 1];
 
-    public GonInt(Long value) {
-        this.value = Objects.requireNonNull(value, "Value cannot be null. Use GonValue.NULL instead.");
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new GonInt(i + CACHE_LOW);
+        }
+    }
+
+    private final long value;
+
+    public GonInt(long value) {
+        this.value = value;
+    }
+
+    public static GonInt of(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) return CACHE[(int) value - CACHE_LOW];
+        return new GonInt(value);
     }
 
     @Override
@@ -15,9 +29,13 @@ public non-sealed class GonInt implements GonValue<Long> {
         return this.value;
     }
 
+    public long getAsLong() {
+        return this.value;
+    }
+
     @Override
     public String toString() {
-        return Objects.toString(this.value);
+        return Long.toString(this.value);
     }
 
     @Override
@@ -25,12 +43,12 @@ public non-sealed class GonInt implements GonValue<Long> {
         if (obj == this) return true;
         if (!(obj instanceof GonInt i)) return false;
 
-        return Objects.equals(i.value, this.value);
+        return i.value == this.value;
     }
 
     @Override
     public int hashCode() {
-        return 47^this.value.hashCode();
+        return 47^Long.hashCode(this.value);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package dev.marfien.gon;
+
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonInt;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GonReloaderTest {
+
+    @Test
+    void testReloadSharesUnchangedObjects() throws Exception {
+        Path file = Files.createTempFile("gon-reloader", ".gon");
+
+        try {
+            Files.writeString(file, "root [Config] {\n  a { x: 1; }\n  b: 2;\n  c { y: \"}\"; }\n  d: 4;\n}\n");
+
+            try (GonReloader reloader = new GonReloader(file)) {
+                List<GonObject> reloaded = new ArrayList<>();
+                reloader.addListener((previous, current) -> reloaded.add(current));
+
+                NestedGonObject first = (NestedGonObject) reloader.get();
+                assertEquals(4, first.getNestedObjects().size());
+                assertFalse(reloader.reload());
+
+                // Change b and insert an object, which shifts c and d
+                Files.writeString(file, "root [Config] {\n  a { x: 1; }\n  b: 20;\n  new;\n  c { y: \"}\"; }\n  d: 4;\n}\n");
+                assertTrue(reloader.reload());
+
+                NestedGonObject second = (NestedGonObject) reloader.get();
+                assertEquals(List.of(second), reloaded);
+                assertEquals("Config", second.getClazz().orElseThrow());
+                assertEquals(5, second.getNestedObjects().size());
+
+                assertSame(first.getNestedObjects().get(0), second.getNestedObjects().get(0));
+                assertNotSame(first.getNestedObjects().get(1), second.getNestedObjects().get(1));
+                assertEquals(GonInt.of(20), ((SingleValueGonObject) second.getNestedObjects().get(1)).getValue());
+                assertSame(first.getNestedObjects().get(2), second.getNestedObjects().get(3));
+                assertSame(first.getNestedObjects().get(3), second.getNestedObjects().get(4));
+
+                // Invalid content keeps the previous snapshot
+                Files.writeString(file, "root { a { ");
+                assertThrows(Exception.class, reloader::reload);
+                assertSame(second, reloader.get());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.object.GonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGonTest {
+
+    @Test
+    void testBinaryRoundTrip() throws Exception {
+        String input = "root[Root] -enabled -!off big=-9223372036854775808 f=-0.0 n=null { child: \"\u00FC\uD83D\uDE00\"; "
+                + "[Leaf]; nested { deep: 7.25; again [Leaf] key=1; } long: \"" + "x".repeat(20_000) + "\"; }";
+        GonObject object = new GonParser().parse(input);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryGonWriter writer = new BinaryGonWriter(out)) {
+            writer.writeObject(object).writeObject(object);
+        }
+
+        byte[] bytes = out.toByteArray();
+        String expected = toText(object);
+
+        // Streamed input with small reads
+        try (BinaryGonReader reader = new BinaryGonReader(new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        })) {
+            assertEquals(expected, toText(reader.nextObject()));
+            assertEquals(expected, toText(reader.nextObject()));
+            assertFalse(reader.hasNext());
+        }
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        for (BinaryGonReader reader : new BinaryGonReader[] { new BinaryGonReader(bytes), new BinaryGonReader(direct) }) {
+            GonObject first = reader.nextObject();
+            assertEquals(expected, toText(first));
+            assertEquals(object.getAttributes(), first.getAttributes());
+            assertTrue(reader.hasNext());
+            reader.nextObject();
+            assertFalse(reader.hasNext());
+        }
+
+        assertThrows(GonParseException.class, () -> new BinaryGonReader(Arrays.copyOf(bytes, bytes.length / 4)).nextObject());
+        assertThrows(GonParseException.class, () -> new BinaryGonReader("root;".getBytes()).nextObject());
+    }
+
+    @Test
+    void testCorruptInput() {
+        // Counts and lengths of 2^31 - 1 without the content
+        byte[] huge = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+        assertCorrupt(bytes(BinaryGon.NESTED, 0), huge);
+        assertCorrupt(bytes(BinaryGon.EMPTY), huge);
+        assertCorrupt(bytes(BinaryGon.EMPTY | BinaryGon.HAS_NAME, BinaryGon.NEW_STRING), huge);
+
+        // The second key refers to the first
+        GonParseException e = assertCorrupt(bytes(BinaryGon.EMPTY, 2, BinaryGon.NEW_STRING, 1, 'a', BinaryGon.NULL, 1, BinaryGon.NULL));
+        assertEquals("a", e.getInput());
+    }
+
+    private static GonParseException assertCorrupt(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(BinaryGon.MAGIC);
+        out.write(BinaryGon.VERSION);
+        for (byte[] part : parts) out.writeBytes(part);
+        byte[] bytes = out.toByteArray();
+
+        assertThrows(GonParseException.class, () -> new BinaryGonReader(new ByteArrayInputStream(bytes)).nextObject());
+        return assertThrows(GonParseException.class, () -> new BinaryGonReader(bytes).nextObject());
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) bytes[i] = (byte) values[i];
+        return bytes;
+    }
+
+    private static String toText(GonObject object) throws Exception {
+        StringWriter out = new StringWriter();
+        try (GonWriter writer = new GonWriter(out)) {
+            writer.writeObject(object);
+        }
+
+        return out.toString();
+    }
+}
@@ -1,10 +1,33 @@
 package dev.marfien.gon.io;
 
+import dev.marfien.gon.GonParser;
 import dev.marfien.gon.GonToken;
 import dev.marfien.gon.api.GonReaderConsumer;
+import dev.marfien.gon.exception.GonParseException;
+import dev.marfien.gon.exception.GonUnexpectedTokenException;
+import dev.marfien.gon.exception.GonUnknownValueException;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonFloat;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonString;
+import dev.marfien.gon.value.GonValue;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +47,19 @@ class GonReaderTest {
         );
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    void testPeekReader() throws Exception {
+        PeekReader in = new PeekReader(new StringReader("a: 1;"));
+        assertEquals('a', in.peek());
+        assertEquals('a', in.getPeeked());
+
+        // The peeked char is still read by the GonReader
+        try (GonReader reader = new GonReader(in)) {
+            assertEquals(GonInt.of(1), ((SingleValueGonObject) reader.nextObject()).getValue());
+        }
+    }
+
     @Test
     void testPeekTokenSkipWhitespaces() throws Exception {
         withReader(
@@ -61,6 +97,445 @@ class GonReaderTest {
         );
     }
 
+    @Test
+    void testSkipComments() throws Exception {
+        withReader(
+                "# comment {\n  # another one\n}",
+                reader -> assertSame(GonToken.BODY_CLOSER, reader.nextToken())
+        );
+    }
+
+    @Test
+    void testNextObjectAcrossBufferBoundary() throws Exception {
+        String input = "root[Root] { first: \"a \\\" quoted string\"; second[Leaf] key=\"value\"; }";
+
+        try (GonReader reader = new GonReader(new CharArrayLexer(new StringReader(input), 4))) {
+            NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+            assertEquals("Root", root.getClazz().orElseThrow());
+            assertEquals(2, root.getNestedObjects().size());
+
+            SingleValueGonObject first = assertInstanceOf(SingleValueGonObject.class, root.getNestedObjects().get(0));
+            assertEquals(new GonString("a \" quoted string"), first.getValue());
+
+            GonObject second = root.getNestedObjects().get(1);
+            assertEquals("second", second.getName().orElseThrow());
+            assertEquals(new GonString("value"), second.getAttributes().get("key"));
+        }
+    }
+
+    @Test
+    void testNextObjectFromUtf8Bytes() throws Exception {
+        byte[] bytes = "gr\u00F6\u00DFe[Ma\u00DF] { text: \"na\u00EFve \uD83D\uDE00 \\\"x\\\"\"; }".getBytes(StandardCharsets.UTF_8);
+
+        try (GonReader reader = new GonReader(GonLexer.of(ByteBuffer.wrap(bytes)))) {
+            NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+            assertEquals("gr\u00F6\u00DFe", root.getName().orElseThrow());
+            assertEquals("Ma\u00DF", root.getClazz().orElseThrow());
+
+            SingleValueGonObject text = assertInstanceOf(SingleValueGonObject.class, root.getNestedObjects().get(0));
+            assertEquals(new GonString("na\u00EFve \uD83D\uDE00 \"x\""), text.getValue());
+        }
+    }
+
+    @Test
+    void testNextEvent() throws Exception {
+        withReader(
+                "root[Root] key=1 -flag { child: \"value\"; [Leaf]; }",
+                reader -> {
+                    assertSame(GonEvent.START_OBJECT, reader.nextEvent());
+                    assertSame(GonEvent.NAME, reader.nextEvent());
+                    assertEquals("root", reader.getText());
+                    assertSame(GonEvent.CLASS, reader.nextEvent());
+                    assertEquals("Root", reader.getText());
+                    assertSame(GonEvent.ATTRIBUTE, reader.nextEvent());
+                    assertEquals("key", reader.getText());
+                    assertSame(GonEvent.FLAG, reader.nextEvent());
+                    assertEquals("flag", reader.getText());
+                    assertSame(GonValue.TRUE, reader.getValue());
+                    assertSame(GonEvent.START_BODY, reader.nextEvent());
+
+                    assertSame(GonEvent.START_OBJECT, reader.nextEvent());
+                    assertSame(GonEvent.NAME, reader.nextEvent());
+                    assertSame(GonEvent.VALUE, reader.nextEvent());
+                    assertEquals(new GonString("value"), reader.getValue());
+                    assertSame(GonEvent.END_OBJECT, reader.nextEvent());
+
+                    // The object of the last START_OBJECT can still be materialized
+                    assertSame(GonEvent.START_OBJECT, reader.nextEvent());
+                    assertEquals("Leaf", reader.nextObject().getClazz().orElseThrow());
+
+                    assertSame(GonEvent.END_BODY, reader.nextEvent());
+                    assertSame(GonEvent.END_OBJECT, reader.nextEvent());
+                    assertSame(GonEvent.END_DOCUMENT, reader.nextEvent());
+                }
+        );
+    }
+
+    @Test
+    void testNextValue() throws Exception {
+        withReader(
+                "42 -7 9223372036854775807 0x1F 0b101 3.25 -0.5 1.5E3 2.5e-3 123456789012345678901.5 true false null",
+                reader -> {
+                    assertSame(GonInt.of(42), reader.nextValue());
+                    assertEquals(GonInt.of(-7), reader.nextValue());
+                    assertEquals(GonInt.of(Long.MAX_VALUE), reader.nextValue());
+                    assertEquals(GonInt.of(0x1F), reader.nextValue());
+                    assertEquals(GonInt.of(0b101), reader.nextValue());
+                    assertEquals(GonFloat.of(3.25), reader.nextValue());
+                    assertEquals(GonFloat.of(-0.5), reader.nextValue());
+                    assertEquals(GonFloat.of(1500), reader.nextValue());
+                    assertEquals(GonFloat.of(0.0025), reader.nextValue());
+                    assertEquals(GonFloat.of(123456789012345678901.5), reader.nextValue());
+                    assertSame(GonValue.TRUE, reader.nextValue());
+                    assertSame(GonValue.FALSE, reader.nextValue());
+                    assertSame(GonValue.NULL, reader.nextValue());
+                }
+        );
+
+        assertThrows(GonUnknownValueException.class, () -> withReader("1.2.3", GonReader::nextValue));
+        assertThrows(GonParseException.class, () -> withReader("99999999999999999999", GonReader::nextValue));
+        assertThrows(GonParseException.class, () -> withReader("0xG", GonReader::nextValue));
+    }
+
+    @Test
+    void testSymbolTable() throws Exception {
+        String input = "root { a[Item] key=\"short\"; b[Item] key=\"short\"; }";
+        GonSymbolTable symbols = new GonSymbolTable();
+        String item = symbols.intern("Item");
+
+        for (GonLexer lexer : new GonLexer[] { GonLexer.of(input), GonLexer.of(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8))) }) {
+            try (GonReader reader = new GonReader(lexer).withSymbolTable(symbols, 8)) {
+                NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+                GonObject a = root.getNestedObjects().get(0);
+                GonObject b = root.getNestedObjects().get(1);
+
+                assertSame(item, a.getClazz().orElseThrow());
+                assertSame(a.getAttributes().get("key").get(), b.getAttributes().get("key").get());
+            }
+        }
+
+        // Lazily loaded bodies use the same table
+        try (GonReader reader = new GonReader(GonLexer.of(input)).withSymbolTable(symbols, 8).withLazyBodies(true)) {
+            NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+            assertSame(item, root.getNestedObjects().get(0).getClazz().orElseThrow());
+        }
+
+        // root, a, Item, key, short, b
+        assertEquals(6, symbols.size());
+    }
+
+    @Test
+    void testLazyBodies() throws Exception {
+        String input = "root { first { value: \"}\"; # }\n } second { broken: ; } }";
+
+        for (GonLexer lexer : new GonLexer[] { GonLexer.of(input), GonLexer.of(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8))) }) {
+            try (GonReader reader = new GonReader(lexer).withLazyBodies(true)) {
+                NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+                NestedGonObject first = assertInstanceOf(NestedGonObject.class, root.filter().byKey("first").orElseThrow());
+
+                SingleValueGonObject value = assertInstanceOf(SingleValueGonObject.class, first.getNestedObjects().get(0));
+                assertEquals(new GonString("}"), value.getValue());
+
+                // Errors in bodies only surface once they are accessed
+                NestedGonObject second = assertInstanceOf(NestedGonObject.class, root.getNestedObjects().get(1));
+                assertThrows(UncheckedIOException.class, second::getNestedObjects);
+            }
+        }
+    }
+
+    @Test
+    void testSkipObject() throws Exception {
+        String input = "skipped [A] k=\"\\\"}\u00FC\" { a { b: \"{\"; } # }\n } single: 1; header { x; } kept: 2; last { y; }";
+
+        GonLexer[] lexers = {
+                new CharArrayLexer(new StringReader(input), 4),
+                GonLexer.of(input),
+                GonLexer.of(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)))
+        };
+
+        for (GonLexer lexer : lexers) {
+            try (GonReader reader = new GonReader(lexer)) {
+                assertTrue(reader.skipObject());
+                assertTrue(reader.skipObject());
+
+                // Rest of the header after START_OBJECT and NAME
+                assertEquals(GonEvent.START_OBJECT, reader.nextEvent());
+                assertEquals(GonEvent.NAME, reader.nextEvent());
+                assertTrue(reader.skipObject());
+
+                SingleValueGonObject kept = assertInstanceOf(SingleValueGonObject.class, reader.nextObject());
+                assertEquals(GonInt.of(2), kept.getValue());
+
+                assertEquals(GonEvent.START_OBJECT, reader.nextEvent());
+                assertEquals(GonEvent.NAME, reader.nextEvent());
+                assertEquals(GonEvent.START_BODY, reader.nextEvent());
+                reader.skipBody();
+                assertEquals(GonEvent.END_OBJECT, reader.nextEvent());
+
+                assertFalse(reader.skipObject());
+                assertEquals(GonEvent.END_DOCUMENT, reader.nextEvent());
+            }
+        }
+
+        assertThrows(GonParseException.class, () -> new GonReader(GonLexer.of("a { b; ")).skipObject());
+        assertThrows(GonParseException.class, () -> new GonReader(GonLexer.of("a \"}")).skipObject());
+    }
+
+    @Test
+    void testStream() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append("record [Log] id=").append(i).append(" { message: \"; } #\"; }\n# comment\n");
+        }
+
+        try (GonReader reader = new GonReader(GonLexer.of("a; b { c; }"))) {
+            assertTrue(reader.hasNext());
+            assertEquals("a", reader.nextObject().getName().orElseThrow());
+            assertEquals("b", reader.nextObject().getName().orElseThrow());
+            assertFalse(reader.hasNext());
+            assertNull(reader.nextObject());
+        }
+
+        assertThrows(GonParseException.class, () -> new GonReader(GonLexer.of("a { b; ")).nextObject());
+
+        Path file = Files.createTempFile("gon-stream", ".gon");
+        try {
+            Files.writeString(file, input);
+
+            for (boolean parallel : new boolean[] { false, true }) {
+                try (Stream<GonObject> records = new GonParser().withMemoryMapping(parallel).stream(file, parallel)) {
+                    assertEquals(parallel, records.isParallel());
+                    List<Long> ids = records.map(record -> record.getLong("id", -1)).toList();
+                    assertEquals(LongStream.range(0, 500).boxed().toList(), ids);
+                }
+            }
+
+            try (Stream<GonObject> records = new GonParser().stream(Files.newInputStream(file))) {
+                assertEquals(500, records.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Records look up the symbols of the reader
+        GonSymbolTable symbols = new GonSymbolTable();
+        String log = symbols.intern("Log");
+        try (Stream<GonObject> records = new GonReader(GonLexer.of(input.toString())).withSymbolTable(symbols).stream(true)) {
+            assertTrue(records.allMatch(record -> record.getClazz().orElseThrow() == log));
+        }
+
+        try (Stream<GonObject> records = new GonReader(GonLexer.of("a; b { ")).stream()) {
+            Iterator<GonObject> iterator = records.iterator();
+            assertEquals("a", iterator.next().getName().orElseThrow());
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, iterator::next);
+            assertInstanceOf(GonParseException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testTypedAttributes() throws Exception {
+        withReader(
+                "server port=8080 ratio=2 load=0.75 -enabled host=\"local\";",
+                reader -> {
+                    GonObject server = reader.nextObject();
+                    assertEquals(8080, server.getLong("port", -1));
+                    assertEquals(2.0, server.getDouble("ratio", -1));
+                    assertEquals(0.75, server.getDouble("load", -1));
+                    assertTrue(server.getBoolean("enabled", false));
+                    assertEquals("local", server.getString("host", null));
+
+                    // Missing or differently typed attributes
+                    assertEquals(-1, server.getLong("missing", -1));
+                    assertEquals(-1, server.getLong("host", -1));
+                    assertEquals(8080, ((GonInt) server.getAttributes().get("port")).getAsLong());
+                }
+        );
+    }
+
+    @Test
+    void testParallelBodies() throws Exception {
+        StringBuilder input = new StringBuilder("root [Root] -enabled {\n");
+        for (int i = 0; i < 1000; i++) {
+            input.append("  child").append(i).append(" { value: \"}").append(i).append("\"; # ;\n } [Leaf] key=").append(i).append(";\n");
+        }
+        input.append("}");
+
+        // Workers look up the symbols of the reader
+        GonSymbolTable symbols = new GonSymbolTable();
+        String leaf = symbols.intern("Leaf");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (GonReader reader = new GonReader(GonLexer.of(input.toString())).withSymbolTable(symbols).withParallelism(pool)) {
+            NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+            assertEquals(2000, root.getNestedObjects().size());
+
+            for (int i = 0; i < 1000; i++) {
+                NestedGonObject child = assertInstanceOf(NestedGonObject.class, root.getNestedObjects().get(i * 2));
+                assertEquals("child" + i, child.getName().orElseThrow());
+                SingleValueGonObject value = assertInstanceOf(SingleValueGonObject.class, child.getNestedObjects().get(0));
+                assertEquals(new GonString("}" + i), value.getValue());
+                assertEquals(GonInt.of(i), root.getNestedObjects().get(i * 2 + 1).getAttributes().get("key"));
+                assertSame(leaf, root.getNestedObjects().get(i * 2 + 1).getClazz().orElseThrow());
+            }
+
+            assertNull(reader.nextObject());
+        } finally {
+            pool.shutdown();
+        }
+
+        try (GonReader reader = new GonReader(GonLexer.of("root { a; b }")).withParallelism(ForkJoinPool.commonPool())) {
+            assertThrows(GonParseException.class, reader::nextObject);
+        }
+    }
+
+    @Test
+    void testPushParser() throws Exception {
+        StringBuilder input = new StringBuilder("\uFEFF");
+        for (int i = 0; i < 100; i++) {
+            input.append("record id=").append(i).append(" { text: \"\\\"; } # \u00e4\"; } # ; {\n");
+        }
+        byte[] bytes = input.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Chunks split tokens and multi byte chars
+        GonPushParser parser = new GonPushParser();
+        assertTrue(parser.needMoreInput());
+        long expected = 0;
+        for (int i = 0; i < bytes.length; i += 7) {
+            parser.feed(bytes, i, Math.min(7, bytes.length - i));
+
+            for (GonObject record = parser.nextObject(); record != null; record = parser.nextObject()) {
+                assertEquals(expected++, record.getLong("id", -1));
+                SingleValueGonObject text = assertInstanceOf(SingleValueGonObject.class, ((NestedGonObject) record).getNestedObjects().get(0));
+                assertEquals(new GonString("\"; } # \u00e4"), text.getValue());
+            }
+        }
+        assertEquals(100, expected);
+        assertTrue(parser.endOfInput().isEndOfInput());
+
+        assertThrows(GonParseException.class, () -> new GonPushParser().feed(ByteBuffer.wrap("a { b; ".getBytes())).endOfInput());
+        assertThrows(GonParseException.class, () -> new GonPushParser().feed(ByteBuffer.wrap("a }".getBytes())));
+
+        // Whitespace after the last object, as the lexer defines it
+        GonPushParser whitespace = new GonPushParser().feed(ByteBuffer.wrap("a;\u2003\u3000\n".getBytes(StandardCharsets.UTF_8))).endOfInput();
+        assertEquals("a", whitespace.nextObject().getName().orElseThrow());
+
+        Path file = Files.createTempFile("gon-async", ".gon");
+        try {
+            Files.write(file, bytes);
+            assertEquals(0, new GonParser().parseAsync(file).get().getLong("id", -1));
+
+            Files.writeString(file, "# empty");
+            assertNull(new GonParser().parseAsync(file).get());
+
+            // Trailing input must be complete
+            Files.writeString(file, "a; b { c; ");
+            ExecutionException e = assertThrows(ExecutionException.class, () -> new GonParser().parseAsync(file).get());
+            assertInstanceOf(GonParseException.class, e.getCause());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        String input = "root [Root] -enabled { x: 1; y: \"s\"; z { w: 1.5; } e; }";
+        List<GonMetrics> reports = new ArrayList<>();
+
+        new GonParser().withMetrics(reports::add).parse(input.getBytes(StandardCharsets.UTF_8));
+        new GonParser().withMetrics(reports::add).withParallelism(ForkJoinPool.commonPool()).parse(input);
+
+        try (GonReader reader = new GonReader(GonLexer.of(input)).withMetrics(reports::add)) {
+            while (reader.nextEvent() != GonEvent.END_DOCUMENT);
+        }
+
+        new GonParser().withMetrics(reports::add).newPushParser().feed(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8))).endOfInput();
+
+        assertEquals(4, reports.size());
+        assertEquals(input.length(), reports.get(0).getBytes());
+        assertEquals(input.length(), reports.get(1).getChars());
+
+        for (GonMetrics metrics : reports) {
+            assertEquals(1, metrics.getEmptyObjects());
+            assertEquals(3, metrics.getSingleValueObjects());
+            assertEquals(2, metrics.getNestedObjects());
+            assertEquals(1, metrics.getIntValues());
+            assertEquals(1, metrics.getFloatValues());
+            assertEquals(1, metrics.getStringValues());
+            assertEquals(1, metrics.getBooleanValues());
+            assertEquals(2, metrics.getMaxDepth());
+            assertTrue(metrics.getParseNanos() >= metrics.getEstimatedLexNanos());
+
+            // Not recording
+            GonMetrics.jfr().parsed(metrics);
+        }
+
+        // Lazy bodies are reported once loaded
+        reports.clear();
+        try (GonReader reader = new GonReader(GonLexer.of(input)).withLazyBodies(true).withMetrics(reports::add)) {
+            NestedGonObject root = assertInstanceOf(NestedGonObject.class, reader.nextObject());
+            assertInstanceOf(NestedGonObject.class, root.getNestedObjects().get(2)).getNestedObjects();
+        }
+
+        assertEquals(3, reports.size());
+        assertEquals(6, reports.stream().mapToLong(GonMetrics::getObjects).sum());
+
+        // Records of a parallel stream are counted
+        reports.clear();
+        try (Stream<GonObject> records = new GonReader(GonLexer.of("a: 1; b { c; } d;")).withMetrics(reports::add).stream(true)) {
+            assertEquals(3, records.toList().size());
+        }
+
+        assertEquals(1, reports.size());
+        assertEquals(4, reports.get(0).getObjects());
+    }
+
+    @Test
+    void testErrorPositions() throws Exception {
+        String input = "root {\n  a: 1;\n  b: 2 }\n}";
+
+        // Same position from chars, a Reader and bytes
+        for (GonReader reader : List.of(new GonReader(GonLexer.of(input)), createReader(input), new GonReader(GonLexer.of(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)))))) {
+            GonUnexpectedTokenException e = assertThrows(GonUnexpectedTokenException.class, reader::nextObject);
+            assertEquals(3, e.getLine());
+            assertEquals(8, e.getColumn());
+            assertEquals(22, e.getOffset());
+            assertEquals('}', e.getTokenGot());
+            assertTrue(e.getMessage().endsWith(" at line 3, column 8"), e.getMessage());
+        }
+
+        // Errors in bodies parsed from slices have the same position as when parsed sequentially
+        String body = "root {\n  a { x: 1; }\n  b { y: ; }\n}";
+        GonParseException sequential = assertThrows(GonParseException.class, () -> new GonReader(GonLexer.of(body)).nextObject());
+        assertEquals(3, sequential.getLine());
+
+        for (GonLexer lexer : new GonLexer[] { GonLexer.of(body), GonLexer.of(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8))) }) {
+            GonParseException parallel = assertThrows(GonParseException.class, () -> new GonReader(lexer).withParallelism(ForkJoinPool.commonPool()).nextObject());
+            assertEquals(sequential.getMessage(), parallel.getMessage());
+            assertEquals(sequential.getOffset(), parallel.getOffset());
+        }
+
+        NestedGonObject lazy = assertInstanceOf(NestedGonObject.class, new GonReader(GonLexer.of(body)).withLazyBodies(true).nextObject());
+        NestedGonObject b = assertInstanceOf(NestedGonObject.class, lazy.getNestedObjects().get(1));
+        UncheckedIOException unchecked = assertThrows(UncheckedIOException.class, b::getNestedObjects);
+        assertEquals(sequential.getMessage(), unchecked.getCause().getMessage());
+
+        // Long input is cut off in the message
+        String unterminated = "root: \"" + "x".repeat(10_000);
+        GonParseException e = assertThrows(GonParseException.class, () -> new GonParser().parse(unterminated));
+        assertTrue(e.getMessage().length() < 100, e.getMessage());
+
+        e = assertThrows(GonParseException.class, () -> new GonParser().parse("a: 0x" + "f".repeat(100) + ";"));
+        assertEquals("0x" + "f".repeat(GonParseException.MAX_PREVIEW_LENGTH - 2) + "...", e.getInput());
+        assertTrue(e.getMessage().startsWith("Invalid HEX number: 0xff"), e.getMessage());
+
+        // Positions of the push parser are relative to the whole input
+        ByteBuffer records = ByteBuffer.wrap("a { b; }\nc {\n  d: 1 2;\n}".getBytes());
+        e = assertThrows(GonParseException.class, () -> new GonPushParser().feed(records));
+        assertEquals(3, e.getLine());
+        assertEquals(8, e.getColumn());
+        assertEquals(20, e.getOffset());
+    }
+
     private static GonReader createReader(String s) {
         return new GonReader(new StringReader(s));
     }
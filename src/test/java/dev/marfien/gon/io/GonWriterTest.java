@@ -0,0 +1,80 @@
+package dev.marfien.gon.io;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.NestedGonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonString;
+import dev.marfien.gon.value.GonValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GonWriterTest {
+
+    @Test
+    void testPrettyPrinting() throws Exception {
+        StringWriter out = new StringWriter();
+
+        try (GonWriter writer = new GonWriter(out)) {
+            writer.beginObject("root", "Root")
+                    .flag("enabled", true)
+                    .beginObject("child").value(new GonString("a \"quoted\" \\ string")).endObject()
+                    .beginObject(null, "Leaf").attribute("key", new GonInt(-42L)).endObject()
+                    .endObject();
+        }
+
+        assertEquals("""
+                root[Root] -enabled {
+                  child: "a \\"quoted\\" \\\\ string";
+                  [Leaf] key=-42;
+                }
+                """, out.toString());
+    }
+
+    @Test
+    void testCompactMode() throws Exception {
+        StringWriter out = new StringWriter();
+
+        try (GonWriter writer = new GonWriter(out).withPrettyPrinting(false)) {
+            writer.beginObject("root")
+                    .beginObject().flag("flag", false).attribute("key", GonValue.NULL).endObject()
+                    .beginObject("child").value(GonValue.TRUE).endObject()
+                    .endObject();
+        }
+
+        assertEquals("root{-!flag key=null;child:true;}", out.toString());
+    }
+
+    @Test
+    void testInvalidState() throws Exception {
+        GonWriter writer = new GonWriter(new StringWriter());
+        assertThrows(IllegalStateException.class, () -> writer.attribute("key", GonValue.TRUE));
+
+        writer.beginObject("name").value(GonValue.NULL);
+        assertThrows(IllegalStateException.class, () -> writer.flag("flag", true));
+        assertThrows(IllegalArgumentException.class, () -> writer.beginObject("not a name"));
+    }
+
+    @Test
+    void testWriteObjectRoundTrip() throws Exception {
+        String input = "root[Root] key=\"v\\\"a\\\\lue\" { child: \"\u00FC\uD83D\uDE00\"; empty; nested { deep: 7; } }";
+        GonObject object = new GonParser().parse(input);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GonWriter writer = new GonWriter(out)) {
+            writer.writeObject(object);
+        }
+
+        NestedGonObject parsed = assertInstanceOf(NestedGonObject.class, new GonParser().parse(out.toByteArray()));
+        assertEquals(object.getAttributes(), parsed.getAttributes());
+        assertEquals(3, parsed.getNestedObjects().size());
+
+        SingleValueGonObject child = assertInstanceOf(SingleValueGonObject.class, parsed.getNestedObjects().get(0));
+        assertEquals(new GonString("\u00FC\uD83D\uDE00"), child.getValue());
+    }
+}
@@ -0,0 +1,101 @@
+package dev.marfien.gon.mapping;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.exception.GonMappingException;
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonString;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GonMapperTest {
+
+    private static final String DOCUMENT = """
+            config name="main" -debug {
+                # Unknown objects and nameless ones are ignored
+                unknown { deep { x: 1; } }
+                [Note] text="}";
+                ;
+                port: 8080;
+                ratio: 2;
+                mode: "FAST";
+                primary [Server] host="eu.example.org" port=443 -secure;
+                servers {
+                    [Server] host="a" port=1 -secure;
+                    [Server] host="b" port=2 { ignored: "body"; }
+                }
+                tags { : "x"; : "y"; }
+            }
+            """;
+
+    enum Mode { SLOW, FAST }
+
+    record Server(String host, int port, boolean secure) {}
+
+    record Config(String name, boolean debug, int port, double ratio, Mode mode, Server primary, List<Server> servers, List<String> tags, long missing) {}
+
+    static class PojoConfig {
+        private String name;
+        private int port;
+        private Server primary;
+        private List<String> tags;
+    }
+
+    @Test
+    void testReadTree() throws Exception {
+        GonObject object = new GonParser().parse(DOCUMENT);
+        assertEquals(expected(), new GonMapper().read(object, Config.class));
+
+        PojoConfig pojo = new GonMapper().read(object, PojoConfig.class);
+        assertEquals("main", pojo.name);
+        assertEquals(8080, pojo.port);
+        assertEquals(new Server("eu.example.org", 443, true), pojo.primary);
+        assertEquals(List.of("x", "y"), pojo.tags);
+    }
+
+    @Test
+    void testReadFromReader() throws Exception {
+        GonMapper mapper = new GonMapper();
+
+        try (GonReader reader = new GonReader(GonLexer.of(DOCUMENT + "\nconfig name=\"second\";"))) {
+            assertEquals(expected(), mapper.read(reader, Config.class));
+            assertEquals("second", mapper.read(reader, Config.class).name());
+            assertNull(mapper.read(reader, Config.class));
+        }
+    }
+
+    @Test
+    void testWriteRoundTrip() {
+        GonMapper mapper = new GonMapper();
+        Config config = expected();
+
+        GonObject object = mapper.write("config", config);
+        assertEquals("config", object.getName().orElseThrow());
+        assertEquals(GonInt.of(8080), object.getAttributes().get("port"));
+        assertEquals(new GonString("FAST"), object.getAttributes().get("mode"));
+
+        assertEquals(config, mapper.read(object, Config.class));
+    }
+
+    @Test
+    void testInvalidValues() throws Exception {
+        GonMapper mapper = new GonMapper();
+
+        assertThrows(GonMappingException.class, () -> mapper.read(new GonParser().parse("s host=1;"), Server.class));
+        assertThrows(GonMappingException.class, () -> mapper.read(new GonParser().parse("s port=3000000000;"), Server.class));
+        assertThrows(GonMappingException.class, () -> mapper.read(new GonParser().parse("s port=null;"), Server.class));
+        assertThrows(GonMappingException.class, () -> mapper.read(new GonParser().parse("s;"), Runnable.class));
+    }
+
+    private static Config expected() {
+        return new Config("main", true, 8080, 2.0, Mode.FAST,
+                new Server("eu.example.org", 443, true),
+                List.of(new Server("a", 1, true), new Server("b", 2, false)),
+                List.of("x", "y"), 0);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.marfien.gon.object;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.value.GonString;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GonMergerTest {
+
+    private static final String BASE = """
+            config version=1 {
+              servers {
+                eu port=80 { host: "eu"; }
+                us port=80;
+              }
+              plugins [List] { a; b; }
+              logging level="info";
+            }
+            """;
+
+    private static final String ENVIRONMENT = """
+            config {
+              servers {
+                eu port=8080 -tls;
+                asia port=80;
+              }
+              plugins [List] { c; }
+            }
+            """;
+
+    private static final String HOST = """
+            config version=2 {
+              logging level="debug" { file: "host.log"; }
+            }
+            """;
+
+    @Test
+    void testMerge() throws Exception {
+        GonParser parser = new GonParser();
+        NestedGonObject base = (NestedGonObject) parser.parse(BASE);
+        GonObject environment = parser.parse(ENVIRONMENT);
+        GonObject host = parser.parse(HOST);
+
+        for (boolean lazy : new boolean[] { false, true }) {
+            GonMerger merger = new GonMerger().withStrategy("List", GonMerger.Strategy.APPEND_CHILDREN);
+            List<GonObject> layers = List.of(base, environment, host);
+            NestedGonObject config = (NestedGonObject) (lazy ? merger.overlay(layers) : merger.merge(layers));
+
+            assertEquals(2, config.getLong("version", -1));
+
+            NestedGonObject servers = (NestedGonObject) config.filter().byKey("servers").orElseThrow();
+            NestedGonObject eu = (NestedGonObject) servers.filter().byKey("eu").orElseThrow();
+            assertEquals(8080, eu.getLong("port", -1));
+            assertTrue(eu.getBoolean("tls", false));
+            assertEquals(new GonString("eu"), ((SingleValueGonObject) eu.getNestedObjects().get(0)).getValue());
+            assertEquals(List.of("eu", "us", "asia"), servers.getNestedObjects().stream().map(o -> o.getName().orElseThrow()).toList());
+
+            // Unchanged objects are shared with the layers
+            NestedGonObject baseServers = (NestedGonObject) base.filter().byKey("servers").orElseThrow();
+            assertSame(baseServers.filter().byKey("us").orElseThrow(), servers.filter().byKey("us").orElseThrow());
+            assertSame(((NestedGonObject) baseServers.filter().byKey("eu").orElseThrow()).getNestedObjects().get(0), eu.getNestedObjects().get(0));
+
+            NestedGonObject plugins = (NestedGonObject) config.filter().byKey("plugins").orElseThrow();
+            assertEquals(3, plugins.getNestedObjects().size());
+
+            GonObject logging = config.filter().byKey("logging").orElseThrow();
+            assertEquals("debug", logging.getString("level", null));
+            assertInstanceOf(NestedGonObject.class, logging);
+        }
+
+        // Other strategies
+        GonObject replaced = new GonMerger(GonMerger.Strategy.REPLACE).merge(base, environment);
+        assertSame(environment, replaced);
+
+        NestedGonObject union = (NestedGonObject) new GonMerger(GonMerger.Strategy.ATTRIBUTE_UNION).merge(base, host);
+        assertEquals(2, union.getLong("version", -1));
+        assertEquals(1, union.getNestedObjects().size());
+
+        NestedGonObject appended = (NestedGonObject) new GonMerger(GonMerger.Strategy.APPEND_CHILDREN).merge(base, environment);
+        NestedGonObject appendedServers = (NestedGonObject) appended.filter().byKey("servers").orElseThrow();
+        assertEquals(2, appendedServers.getNestedObjects().size());
+        // Replaced as a whole instead of merged
+        assertEquals(1, ((NestedGonObject) appended.filter().byKey("plugins").orElseThrow()).getNestedObjects().size());
+
+        assertSame(base, new GonMerger().merge(base, parser.parse("config;")));
+    }
+}
@@ -0,0 +1,135 @@
+package dev.marfien.gon.object;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.value.GonInt;
+import dev.marfien.gon.value.GonString;
+import dev.marfien.gon.value.GonValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NestedGonObjectTest {
+
+    @Test
+    void testArrayConstructors() {
+        String[] keys = { "a", "b" };
+        GonValue[] values = { GonInt.of(1), GonInt.of(2) };
+        GonObject[] nestedObjects = { new EmptyGonObject("x", null, keys, values) };
+        NestedGonObject object = new NestedGonObject("root", null, keys, values, nestedObjects);
+
+        // The arrays are copied
+        keys[0] = "c";
+        values[1] = GonInt.of(3);
+        nestedObjects[0] = null;
+        assertEquals(GonInt.of(1), object.getAttributes().get("a"));
+        assertEquals(GonInt.of(2), object.getAttributes().get("b"));
+        assertFalse(object.getAttributes().containsKey("c"));
+        assertEquals("x", object.getNestedObjects().get(0).getName().orElseThrow());
+
+        assertThrows(NullPointerException.class, () -> new EmptyGonObject(null, null, new String[] { null }, new GonValue[] { GonValue.TRUE }));
+        assertThrows(NullPointerException.class, () -> new EmptyGonObject(null, null, new String[] { "a" }, new GonValue[] { null }));
+        assertThrows(NullPointerException.class, () -> new NestedGonObject(null, null, new String[0], new GonValue[0], new GonObject[] { null }));
+        assertThrows(IllegalArgumentException.class, () -> new SingleValueGonObject(null, null, new String[] { "a" }, new GonValue[0], GonValue.TRUE));
+
+        // Duplicates are found in short and in indexed headers
+        assertThrows(IllegalArgumentException.class, () -> new EmptyGonObject(null, null, new String[] { "a", "a" }, new GonValue[] { GonValue.TRUE, GonValue.FALSE }));
+        String[] manyKeys = new String[20];
+        GonValue[] manyValues = new GonValue[20];
+        for (int i = 0; i < 20; i++) {
+            manyKeys[i] = "key" + i;
+            manyValues[i] = GonInt.of(i);
+        }
+        assertEquals(GonInt.of(19), new EmptyGonObject(null, null, manyKeys, manyValues).getAttributes().get("key19"));
+        manyKeys[19] = "key3";
+        assertThrows(IllegalArgumentException.class, () -> new EmptyGonObject(null, null, manyKeys, manyValues));
+    }
+
+    @Test
+    void testIndexedFilter() throws Exception {
+        StringBuilder input = new StringBuilder("root {\n");
+        for (int i = 0; i < 100; i++) {
+            String clazz = i % 2 == 0 ? "Server" : "Client";
+            String region = i % 3 == 0 ? "eu" : "us";
+            input.append("  node").append(i).append(" [").append(clazz).append("] region=\"").append(region).append('"');
+            if (i % 5 == 0) input.append(" -backup");
+            input.append(";\n");
+        }
+        input.append("  [Server];\n}");
+
+        NestedGonObject root = (NestedGonObject) new GonParser().parse(input.toString());
+
+        List<GonObject> servers = List.copyOf(root.filter()
+                .withClass("Server")
+                .withAttribute("region", new GonString("eu"))
+                .all());
+        assertEquals(17, servers.size());
+        assertEquals("node0", servers.get(0).getName().orElseThrow());
+        assertEquals("node96", servers.get(16).getName().orElseThrow());
+
+        assertEquals("node5", root.filter().withAttribute("backup", GonValue.TRUE).withClass("Client").first()
+                .flatMap(GonObject::getName).orElseThrow());
+        assertEquals(1, root.filter().withClass("Server").withAttribute("region", null).all().size());
+        assertTrue(root.filter().withClass("Unknown").all().isEmpty());
+        assertEquals(0, root.filter().withClass(null).all().size());
+
+        // Other combinators are not narrowed by the index, even if they combine like filter()
+        assertEquals(servers, List.copyOf(root.filter(Predicate::and).withClass("Server").withAttribute("region", new GonString("eu")).all()));
+        assertEquals(101, root.filter(Predicate::or).withClass("Server").withAttribute("region").all().size());
+    }
+
+    @Test
+    void testPersistentUpdates() throws Exception {
+        StringBuilder input = new StringBuilder("config version=1 {\n  servers {\n    eu port=80 { host: \"eu\"; }\n");
+        for (int i = 0; i < 20; i++) input.append("    node").append(i).append(" { weight: ").append(i).append("; }\n");
+        input.append("  }\n  logging level=\"info\";\n}");
+
+        NestedGonObject config = (NestedGonObject) new GonParser().parse(input.toString());
+        NestedGonObject servers = (NestedGonObject) config.filter().byKey("servers").orElseThrow();
+        GonObject eu = servers.filter().byKey("eu").orElseThrow();
+
+        NestedGonObject updated = (NestedGonObject) config.with("servers/eu/port", GonInt.of(8080));
+        NestedGonObject updatedServers = (NestedGonObject) updated.filter().byKey("servers").orElseThrow();
+        GonObject updatedEu = updatedServers.filter().byKey("eu").orElseThrow();
+
+        assertEquals(8080, updatedEu.getLong("port", -1));
+        assertEquals(80, eu.getLong("port", -1));
+        // Only the objects on the path are copied
+        assertSame(((NestedGonObject) eu).getNestedObjects().get(0), ((NestedGonObject) updatedEu).getNestedObjects().get(0));
+        assertSame(servers.getNestedObjects().get(20), updatedServers.getNestedObjects().get(20));
+        assertSame(config.getNestedObjects().get(1), updated.getNestedObjects().get(1));
+        assertSame(updatedServers.filter().byKey("node19").orElseThrow(), servers.filter().byKey("node19").orElseThrow());
+
+        // Nested objects with a single value, new attributes and missing objects
+        GonObject host = ((NestedGonObject) updated.with("servers/eu/host", new GonString("eu2")).with("servers/eu", updatedEu))
+                .filter().byKey("servers").flatMap(s -> ((NestedGonObject) s).filter().byKey("eu")).orElseThrow();
+        assertSame(updatedEu, host);
+        GonObject created = config.with("servers/us/port", GonInt.of(81)).with("logging/file", new GonString("log"));
+        assertEquals(81, ((NestedGonObject) ((NestedGonObject) created).filter().byKey("servers").orElseThrow())
+                .filter().byKey("us").orElseThrow().getLong("port", -1));
+        GonObject logging = ((NestedGonObject) created).filter().byKey("logging").orElseThrow();
+        assertEquals("log", assertInstanceOf(EmptyGonObject.class, logging).getString("file", null));
+        assertEquals("info", logging.getString("level", null));
+
+        assertSame(config, config.with("version", GonInt.of(1)));
+        assertSame(config, config.without("servers/missing/port"));
+        assertEquals(-1, config.without("version").getLong("version", -1));
+        assertEquals(20, ((NestedGonObject) ((NestedGonObject) config.without("servers/eu")).getNestedObjects().get(0)).getNestedObjects().size());
+
+        assertThrows(IllegalArgumentException.class, () -> config.with("servers/eu/host/x/y", GonInt.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> config.with("servers//port", GonInt.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> config.with("servers/us", eu));
+
+        // Subclasses from outside the package are updated through the default hooks
+        GonObject custom = new GonObject("custom", null, Map.of("a", GonInt.of(1))) {};
+        assertEquals(2, custom.with("b", GonInt.of(2)).getLong("b", -1));
+        assertEquals(-1, custom.without("a").getLong("a", -1));
+
+        NestedGonObject withBody = assertInstanceOf(NestedGonObject.class, custom.with("nested/c", GonInt.of(3)));
+        assertEquals(1, withBody.getLong("a", -1));
+        assertEquals(3, withBody.getNestedObjects().get(0).getLong("c", -1));
+    }
+}
@@ -0,0 +1,83 @@
+package dev.marfien.gon.query;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.GonObject;
+import dev.marfien.gon.object.SingleValueGonObject;
+import dev.marfien.gon.value.GonInt;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GonPathTest {
+
+    private static final String DOCUMENT = """
+            root {
+                servers {
+                    a [Server] region="eu" { port: 80; }
+                    b [Server] region="us" { port: 81; }
+                    c [Server] region="eu" -backup { port: 82; }
+                    d [Proxy] region="eu" -!backup { port: 83; }
+                }
+                services {
+                    api [Endpoint] path="/api" {
+                        health [Endpoint] path="/api/health";
+                    }
+                    # } comments and "strings" in skipped bodies
+                    other { note: "}"; }
+                }
+            }
+            """;
+
+    @Test
+    void testSelect() throws Exception {
+        GonObject root = new GonParser().parse(DOCUMENT);
+
+        List<GonObject> ports = GonPath.compile("servers/*[Server][region=\"eu\"]/port").select(root);
+        assertEquals(2, ports.size());
+        assertEquals(GonInt.of(80), ((SingleValueGonObject) ports.get(0)).getValue());
+        assertEquals(GonInt.of(82), ((SingleValueGonObject) ports.get(1)).getValue());
+
+        assertEquals(List.of("api", "health"), names(GonPath.compile("**[Endpoint]").select(root)));
+        assertEquals(List.of("health"), names(GonPath.compile("services/**/health").select(root)));
+        assertEquals(List.of("c"), names(GonPath.compile("servers/[-backup]").select(root)));
+        assertEquals(List.of("d"), names(GonPath.compile("servers/*[-!backup]").select(root)));
+        assertTrue(GonPath.compile("servers/e").selectFirst(root).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> GonPath.compile("servers/"));
+        assertThrows(IllegalArgumentException.class, () -> GonPath.compile("*[region=]"));
+        assertThrows(IllegalArgumentException.class, () -> GonPath.compile("*[A][B]"));
+    }
+
+    @Test
+    void testSelectFromReader() throws Exception {
+        try (GonReader reader = new GonReader(GonLexer.of(DOCUMENT))) {
+            List<GonObject> ports = GonPath.compile("servers/*[Server][region=\"eu\"]/port").select(reader);
+            assertEquals(2, ports.size());
+            assertEquals(GonInt.of(82), ((SingleValueGonObject) ports.get(1)).getValue());
+        }
+
+        try (GonReader reader = new GonReader(GonLexer.of(DOCUMENT))) {
+            assertEquals(List.of("api", "health"), names(GonPath.compile("**[Endpoint]").select(reader)));
+        }
+
+        try (GonReader reader = new GonReader(GonLexer.of(DOCUMENT))) {
+            assertEquals(List.of("other"), names(GonPath.compile("**/other").select(reader)));
+        }
+
+        // The root is the context in both modes and never selected
+        String endpoints = "api [Endpoint] { health [Endpoint]; } other [Endpoint];";
+        GonPath path = GonPath.compile("**[Endpoint]");
+        assertEquals(List.of("health"), names(path.select(new GonParser().parse(endpoints))));
+        try (GonReader reader = new GonReader(GonLexer.of(endpoints))) {
+            assertEquals(List.of("health"), names(path.select(reader)));
+        }
+    }
+
+    private static List<String> names(List<GonObject> objects) {
+        return objects.stream().map(object -> object.getName().orElse(null)).toList();
+    }
+}
@@ -0,0 +1,132 @@
+package dev.marfien.gon.schema;
+
+import dev.marfien.gon.GonParser;
+import dev.marfien.gon.GonReloader;
+import dev.marfien.gon.exception.GonSchemaException;
+import dev.marfien.gon.io.GonEvent;
+import dev.marfien.gon.io.GonLexer;
+import dev.marfien.gon.io.GonReader;
+import dev.marfien.gon.object.NestedGonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GonSchemaTest {
+
+    private static final String SCHEMA = """
+            schema root="config" {
+              config class="Config" -closed {
+                [Attribute] key="version" type="int" -required;
+                [Attribute] key="label" type="string|null";
+                [Child] name="servers" type="servers" min=1 max=1;
+                [Child] name="logging";
+              }
+              servers content="body" {
+                [Child] class="Server" type="server" max=3;
+              }
+              server class="Server" value="int|null";
+            }
+            """;
+
+    private static final String VALID = """
+            config [Config] version=1 label=null {
+              servers {
+                eu [Server]: 8080;
+                us [Server]: null;
+              }
+              logging { anything; }
+            }
+            """;
+
+    @Test
+    void testValidation() throws Exception {
+        GonSchema schema = GonSchema.of(new GonParser().parse(SCHEMA));
+        GonParser parser = new GonParser().withSchema(schema);
+
+        NestedGonObject config = (NestedGonObject) parser.parse(VALID);
+        assertEquals(2, config.getNestedObjects().size());
+        assertNotNull(parser.parse(VALID.getBytes(StandardCharsets.UTF_8)));
+
+        try (GonReader reader = new GonReader(GonLexer.of(VALID)).withSchema(schema)) {
+            int events = 0;
+            while (reader.nextEvent() != GonEvent.END_DOCUMENT) events++;
+            assertTrue(events > 0);
+        }
+
+        assertViolation(parser, "config [Config] { servers {} }", "Missing attribute 'version'");
+        assertViolation(parser, "config [Config] version=\"1\" { servers {} }", "must be int");
+        assertViolation(parser, "config [Config] version=1 other=2 { servers {} }", "Undeclared attribute 'other'");
+        assertViolation(parser, "config version=1 { servers {} }", "must be of class Config");
+        assertViolation(parser, "config [Config] version=1 { }", "at least 1 nested 'servers'");
+        assertViolation(parser, "config [Config] version=1 { servers {} servers2; }", "Undeclared nested 'servers2'");
+        assertViolation(parser, "config [Config] version=1 { servers; }", "must have a body");
+        assertViolation(parser, "config [Config] version=1 { servers { a [Server]: 1.5; } }", "must be int|null");
+        assertViolation(parser, "config [Config] version=1 { servers { a [Server]: 1; b [Server]: 2; c [Server]: 3; d [Server]: 4; } }", "at most 3");
+
+        // Fails at the first violation
+        GonSchemaException e = assertThrows(GonSchemaException.class, () -> parser.parse("""
+                config [Config] version=1 {
+                  servers {
+                    eu [Server]: "8080";
+                  }
+                }
+                """.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, e.getLine());
+        assertEquals(24, e.getColumn());
+        assertTrue(e.getMessage().endsWith("at line 3, column 24"), e.getMessage());
+
+        // The event reader fails at the same place
+        try (GonReader reader = new GonReader(GonLexer.of("config [Config] version=1 {\n  servers {\n    eu [Server]: \"8080\";\n  }\n}")).withSchema(schema)) {
+            e = assertThrows(GonSchemaException.class, () -> {
+                while (reader.nextEvent() != GonEvent.END_DOCUMENT);
+            });
+            assertEquals(3, e.getLine());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> GonSchema.of(new GonParser().parse("schema root=\"missing\" { a; }")));
+        assertThrows(IllegalArgumentException.class, () -> GonSchema.of(new GonParser().parse("schema root=\"a\" { a { [Child] type=\"b\"; } }")));
+        assertThrows(IllegalArgumentException.class, () -> GonSchema.of(new GonParser().parse("schema root=\"a\" { a value=\"long\"; }")));
+    }
+
+    @Test
+    void testPushParserAndReloader() throws Exception {
+        GonSchema schema = GonSchema.of(new GonParser().parse(SCHEMA));
+        GonParser parser = new GonParser().withSchema(schema);
+        Path file = Files.createTempFile("gon-schema", ".gon");
+
+        try {
+            Files.writeString(file, VALID);
+            assertNotNull(parser.parseAsync(file).get());
+
+            // Nested objects of the root are validated in its context
+            try (GonReloader reloader = new GonReloader(file, parser)) {
+                Files.writeString(file, VALID.replace("logging { anything; }", ""));
+                assertTrue(reloader.reload());
+
+                Files.writeString(file, "config [Config] version=1 {\n  logging;\n}\n");
+                GonSchemaException e = assertThrows(GonSchemaException.class, reloader::reload);
+                assertTrue(e.getMessage().contains("at least 1 nested 'servers'"), e.getMessage());
+            }
+
+            Files.writeString(file, "config { servers { a; } }");
+            ExecutionException e = assertThrows(ExecutionException.class, () -> parser.parseAsync(file).get());
+            assertInstanceOf(GonSchemaException.class, e.getCause());
+            assertTrue(e.getCause().getMessage().contains("must be of class Config"), e.getCause().getMessage());
+
+            assertThrows(GonSchemaException.class, () -> new GonReloader(file, parser));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void assertViolation(GonParser parser, String input, String message) {
+        GonSchemaException e = assertThrows(GonSchemaException.class, () -> parser.parse(input));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+        assertEquals(1, e.getLine());
+    }
+}